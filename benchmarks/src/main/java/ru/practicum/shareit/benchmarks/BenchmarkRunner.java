@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Запускает измерения и сравнивает результат с сохраненным базовым.
+ * Настраивается системными свойствами:
+ * benchmarks.include - регулярное выражение отбора измерений,
+ * benchmarks.params - значения параметров через точку с запятой, например users=1000;itemsPerUser=50,
+ * benchmarks.result - файл результата в формате JSON,
+ * benchmarks.baseline - файл базового результата, создается при первом запуске,
+ * benchmarks.threshold - допустимая доля ухудшения среднего времени.
+ * Завершается с кодом 1 если хотя бы одно измерение ухудшилось сверх допустимого.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        Path result = Path.of(System.getProperty("benchmarks.result", "target/jmh-result.json"));
+        Path baseline = Path.of(System.getProperty("benchmarks.baseline", "results/baseline.json"));
+        double threshold = Double.parseDouble(System.getProperty("benchmarks.threshold", "0.1"));
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(System.getProperty("benchmarks.include", "Benchmark"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString());
+        for (String param : System.getProperty("benchmarks.params", "").split(";")) {
+            String[] pair = param.split("=", 2);
+            if (pair.length == 2) {
+                options.param(pair[0].trim(), pair[1].trim().split(","));
+            }
+        }
+        Collection<RunResult> runResults = new Runner(options.build()).run();
+        if (!Files.exists(baseline)) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Базовый результат сохранен в " + baseline);
+            return;
+        }
+        Map<String, Double> baselineScores = readScores(baseline);
+        int regressions = 0;
+        for (RunResult runResult : runResults) {
+            Map<String, String> params = new TreeMap<>();
+            runResult.getParams().getParamsKeys()
+                    .forEach(key -> params.put(key, runResult.getParams().getParam(key)));
+            String key = runResult.getParams().getBenchmark() + params;
+            Double baselineScore = baselineScores.get(key);
+            double score = runResult.getPrimaryResult().getScore();
+            if (baselineScore != null && score > baselineScore * (1 + threshold)) {
+                regressions++;
+                System.out.printf("Ухудшение %s: %.3f -> %.3f %s%n", key, baselineScore, score,
+                        runResult.getPrimaryResult().getScoreUnit());
+            }
+        }
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Читает средние значения измерений из результата JMH в формате JSON.
+     * Ключом служит имя измерения вместе с отсортированными параметрами.
+     */
+    private static Map<String, Double> readScores(Path path) throws IOException {
+        Map<String, Double> scores = new HashMap<>();
+        for (JsonElement element : JsonParser.parseString(Files.readString(path)).getAsJsonArray()) {
+            JsonObject benchmark = element.getAsJsonObject();
+            Map<String, String> params = new TreeMap<>();
+            if (benchmark.has("params")) {
+                benchmark.getAsJsonObject("params").entrySet()
+                        .forEach(param -> params.put(param.getKey(), param.getValue().getAsString()));
+            }
+            scores.put(benchmark.get("benchmark").getAsString() + params,
+                    benchmark.getAsJsonObject("primaryMetric").get("score").getAsDouble());
+        }
+        return scores;
+    }
+}
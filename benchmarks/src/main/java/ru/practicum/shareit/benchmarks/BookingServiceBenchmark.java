@@ -0,0 +1,51 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Измерения выдачи списков бронирований автору и владельцу
+ * для каждого {@link ru.practicum.shareit.booking.assistant.State}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public String state;
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItState shareIt) {
+        bookingService = shareIt.getBean(BookingService.class);
+    }
+
+    @Benchmark
+    public List<BookingDto> getAll(ShareItState shareIt) {
+        return bookingService.getAll(state, shareIt.getUserId(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDto> getByUser(ShareItState shareIt) {
+        return bookingService.getByUser(state, shareIt.getUserId(), 0, PAGE_SIZE);
+    }
+}
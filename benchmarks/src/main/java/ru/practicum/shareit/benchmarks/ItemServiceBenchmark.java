@@ -0,0 +1,48 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemDtoIncreasedConfidential;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Измерения выдачи вещей владельцу с бронированиями и комментариями и поиска вещей.
+ * Поиск измеряется для движка, заданного параметром engine контекста {@link ShareItState}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItState shareIt) {
+        itemService = shareIt.getBean(ItemService.class);
+    }
+
+    @Benchmark
+    public List<ItemDtoIncreasedConfidential> getAll(ShareItState shareIt) {
+        return itemService.getAll(shareIt.getUserId(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDtoIncreasedConfidential> search(ShareItState shareIt) {
+        return itemService.search(ShareItState.SEARCH_TEXT, shareIt.getUserId(), 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.assistant.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoIncreasedConfidential;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDtoForRequest;
+import ru.practicum.shareit.item.dto.ItemDtoIncreasedConfidential;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Измерения конвертирования сущностей мапперами MapStruct без обращения к базе данных.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
+    private final ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
+    private final User owner = User.builder()
+            .id(1)
+            .name("owner")
+            .email("owner@shareit.ru")
+            .build();
+    private final User booker = User.builder()
+            .id(2)
+            .name("booker")
+            .email("booker@shareit.ru")
+            .build();
+    private final Item item = Item.builder()
+            .id(1)
+            .name("Дрель")
+            .description("Аккумуляторная дрель")
+            .available(true)
+            .owner(owner)
+            .request(ItemRequest.builder()
+                    .id(1)
+                    .description("Нужна дрель")
+                    .requestor(booker)
+                    .created(LocalDateTime.now())
+                    .build())
+            .build();
+    private final Booking booking = Booking.builder()
+            .id(1)
+            .start(LocalDateTime.now().plusDays(1))
+            .end(LocalDateTime.now().plusDays(2))
+            .item(item)
+            .booker(booker)
+            .status(Status.WAITING)
+            .build();
+
+    @Benchmark
+    public BookingDto toBookingDto() {
+        return bookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public BookingDtoIncreasedConfidential toBookingDtoIncreasedConfidential() {
+        return bookingMapper.toBookingDtoIncreasedConfidential(booking);
+    }
+
+    @Benchmark
+    public ItemDtoIncreasedConfidential toItemDtoIncreasedConfidential() {
+        return itemMapper.toItemDtoIncreasedConfidential(item);
+    }
+
+    @Benchmark
+    public ItemDtoForRequest toItemDtoForRequest() {
+        return itemMapper.toItemDtoForRequest(item);
+    }
+}
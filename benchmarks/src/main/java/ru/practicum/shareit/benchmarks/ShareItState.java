@@ -0,0 +1,174 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.assistant.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.service.ItemBookingSummarySweeper;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Контекст сервера, общий для всех измерений одного запуска.
+ * Поднимает приложение без веб-слоя на базе H2 и заполняет ее данными в объеме, заданном параметрами.
+ */
+@State(Scope.Benchmark)
+public class ShareItState {
+    /**
+     * Текст поискового запроса, совпадающий с частью названий и описаний вещей.
+     */
+    public static final String SEARCH_TEXT = "дрель 1";
+    private static final Status[] STATUSES = {Status.WAITING, Status.APPROVED, Status.REJECTED};
+    /**
+     * Количество пользователей.
+     */
+    @Param("100")
+    public int users;
+    /**
+     * Количество вещей у каждого пользователя.
+     */
+    @Param("10")
+    public int itemsPerUser;
+    /**
+     * Количество бронирований каждой вещи.
+     */
+    @Param("10")
+    public int bookingsPerItem;
+    /**
+     * Количество запросов вещей от каждого пользователя.
+     */
+    @Param("5")
+    public int requestsPerUser;
+    /**
+     * Значение свойства shareit.item.search.engine.
+     */
+    @Param("sql")
+    public String engine;
+    private ConfigurableApplicationContext context;
+    /**
+     * Уникальный идентификатор пользователя, от имени которого выполняются измерения.
+     */
+    private int userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.location=classpath:benchmarks.properties",
+                        "--shareit.item.search.engine=" + engine);
+        seed();
+        context.getBean(ItemSearchIndex.class).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Заполняет базу данных: у каждого пользователя есть вещи и запросы, каждая вещь бронируется
+     * другими пользователями в прошлом, настоящем и будущем с чередующимися статусами.
+     * Сводки бронирований вещей создаются устаревшими и заполняются проходом обновления, как при миграции,
+     * поэтому измерения идут по сводкам, а не по запасному пути через бронирования.
+     */
+    private void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        List<User> savedUsers = context.getBean(UserRepository.class).saveAll(IntStream.range(0, users)
+                .mapToObj(i -> User.builder()
+                        .name("user" + i)
+                        .email("user" + i + "@shareit.ru")
+                        .build())
+                .collect(Collectors.toList()));
+        userId = savedUsers.get(0).getId();
+        List<ItemRequest> requests = context.getBean(ItemRequestRepository.class).saveAll(IntStream
+                .range(0, users * requestsPerUser)
+                .mapToObj(i -> ItemRequest.builder()
+                        .description("Нужна дрель " + i)
+                        .requestor(savedUsers.get(i % users))
+                        .created(now.minusHours(i))
+                        .build())
+                .collect(Collectors.toList()));
+        List<Item> items = context.getBean(ItemRepository.class).saveAll(IntStream.range(0, users * itemsPerUser)
+                .mapToObj(i -> Item.builder()
+                        .name("Дрель " + i)
+                        .description("Аккумуляторная дрель номер " + i)
+                        .available(i % 5 != 0)
+                        .owner(savedUsers.get(i % users))
+                        .request(!requests.isEmpty() && i % 3 == 0 ? requests.get(i % requests.size()) : null)
+                        .build())
+                .collect(Collectors.toList()));
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            for (int j = 0; j < bookingsPerItem; j++) {
+                User booker = savedUsers.get((i + j + 1) % users);
+                LocalDateTime start;
+                LocalDateTime end;
+                if (j % 3 == 0) {
+                    start = now.minusDays(10 + j);
+                    end = now.minusDays(9 + j);
+                } else if (j % 3 == 1) {
+                    start = now.minusHours(1 + j);
+                    end = now.plusHours(1 + j);
+                } else {
+                    start = now.plusDays(1 + j);
+                    end = now.plusDays(2 + j);
+                }
+                bookings.add(Booking.builder()
+                        .item(item)
+                        .booker(booker)
+                        .start(start)
+                        .end(end)
+                        .status(STATUSES[(i + j) % STATUSES.length])
+                        .build());
+                if (j % 3 == 0) {
+                    comments.add(Comment.builder()
+                            .item(item)
+                            .author(booker)
+                            .text("Отличная дрель")
+                            .created(end)
+                            .build());
+                }
+            }
+        }
+        context.getBean(BookingRepository.class).saveAll(bookings);
+        context.getBean(CommentRepository.class).saveAll(comments);
+        context.getBean(ItemBookingSummaryRepository.class).saveAll(items.stream()
+                .map(item -> ItemBookingSummary.builder().itemId(item.getId()).nextStart(now).build())
+                .collect(Collectors.toList()));
+        context.getBean(ItemBookingSummarySweeper.class).sweep(LocalDateTime.now());
+    }
+}
@@ -2,60 +2,90 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
+import ru.practicum.shareit.exception.model.ValidationException;
 
+import javax.validation.Validator;
+import java.util.List;
 import java.util.Map;
 
+import static ru.practicum.shareit.client.ResponseCache.ITEMS;
 import static ru.practicum.shareit.validation.Validator.*;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private final Validator validator;
+    private final ResponseCache responseCache;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         ServerTransportFactory transportFactory, Validator validator, ResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
+        this.validator = validator;
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> add(BookingDto bookingDto, int userId) {
+    public Mono<ResponseEntity<Object>> add(BookingDto bookingDto, int userId) {
         idValidator(userId);
-        return post("", userId, bookingDto);
+        return post("", userId, bookingDto)
+                .doOnNext(response -> responseCache.evict(ITEMS, bookingDto.getItemId()));
     }
 
-    public ResponseEntity<Object> statusAppropriator(int bookingId, boolean approved, long userId) {
+    public Mono<ResponseEntity<Object>> statusAppropriator(int bookingId, boolean approved, long userId) {
         idValidator(bookingId);
         idValidator(userId);
         Map<String, Object> parameters = Map.of("approved", approved);
-        return patch("/" + bookingId + "?approved=" + approved, userId, parameters);
+        return patch("/" + bookingId + "?approved=" + approved, userId, parameters)
+                .doOnNext(response -> responseCache.evictAll(ITEMS));
+    }
+
+    public Mono<ResponseEntity<Object>> statusAppropriatorAll(List<BookingStatusDto> statuses, long userId) {
+        idValidator(userId);
+        batchValidator(statuses);
+        statuses.forEach(status -> validator.validate(status).stream()
+                .findFirst()
+                .ifPresent(violation -> {
+                    throw new ValidationException(violation.getMessage());
+                }));
+        return patch("/batch", userId, statuses)
+                .doOnNext(response -> responseCache.evictAll(ITEMS));
     }
 
-    public ResponseEntity<Object> get(int bookingId, int userId) {
+    public Mono<ResponseEntity<Object>> get(int bookingId, int userId) {
         idValidator(bookingId);
         idValidator(userId);
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAll(String state, long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAll(String state, long userId, int from, int size, String cursor) {
         idValidator(userId);
         pageValidator(from, size);
         stateValidator(state);
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of("state", state, "from", from, "size", size, "cursor", cursor);
+            return get("?state={state}&from={from}&size={size}&cursor={cursor}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of("state", state, "from", from, "size", size);
         return get("?state=" + state + "&from=" + from + "&size=" + size, userId, parameters);
     }
 
-    public ResponseEntity<Object> getByUser(String state, long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getByUser(String state, long userId, int from, int size, String cursor) {
         idValidator(userId);
         pageValidator(from, size);
         stateValidator(state);
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of("state", state, "from", from, "size", size, "cursor", cursor);
+            return get("/owner?state={state}&from={from}&size={size}&cursor={cursor}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of("state", state, "from", from, "size", size);
         return get("/owner?state=" + state + "&from=" + from + "&size=" + size, userId, parameters);
     }
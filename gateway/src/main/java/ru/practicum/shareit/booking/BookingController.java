@@ -7,9 +7,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusDto;
 import ru.practicum.shareit.validation.Create;
 
+import java.util.List;
+
 import static ru.practicum.shareit.item.ItemController.USER_ID;
 
 @Controller
@@ -27,9 +31,9 @@ public class BookingController {
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> add(@Validated(Create.class)
-                                      @RequestBody BookingDto bookingDto,
-                                      @RequestHeader(USER_ID) int userId) {
+    public Mono<ResponseEntity<Object>> add(@Validated(Create.class)
+                                            @RequestBody BookingDto bookingDto,
+                                            @RequestHeader(USER_ID) int userId) {
         log.info("Поступил запрос на регистрацию бронирования.");
         return bookingClient.add(bookingDto, userId);
     }
@@ -38,44 +42,59 @@ public class BookingController {
      * Обрабатывает запросы на подтверждение или отклонение бронирования.
      */
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> statusAppropriator(@PathVariable int bookingId,
-                                                     @RequestParam boolean approved,
-                                                     @RequestHeader(USER_ID) long userId) {
+    public Mono<ResponseEntity<Object>> statusAppropriator(@PathVariable int bookingId,
+                                                           @RequestParam boolean approved,
+                                                           @RequestHeader(USER_ID) long userId) {
         log.info("Поступил запрос на подтверждение или отклонение бронирования бронирования.");
         return bookingClient.statusAppropriator(bookingId, approved, userId);
     }
 
+    /**
+     * Обрабатывает запрос на пакетное подтверждение или отклонение бронирований владельцем.
+     * Результат возвращается отдельно для каждого бронирования пакета.
+     */
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> statusAppropriatorAll(@RequestBody List<BookingStatusDto> statuses,
+                                                              @RequestHeader(USER_ID) long userId) {
+        log.info("Поступил запрос на пакетное подтверждение или отклонение бронирований.");
+        return bookingClient.statusAppropriatorAll(statuses, userId);
+    }
+
     /**
      * Обрабатывает запросы на предоставление данных конкретного бронирования.
      */
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> get(@PathVariable int bookingId,
-                                      @RequestHeader(USER_ID) int userId) {
+    public Mono<ResponseEntity<Object>> get(@PathVariable int bookingId,
+                                            @RequestHeader(USER_ID) int userId) {
         log.info("Поступил запрос на предоставление данных конкретного бронирования.");
         return bookingClient.get(bookingId, userId);
     }
 
     /**
      * Обрабатывает запрос на предоставление списка бронирований.
+     * Курсор следующей страницы возвращается в заголовке X-Next-Cursor и передается в параметре cursor.
      */
     @GetMapping
-    private ResponseEntity<Object> getAll(@RequestParam(defaultValue = "ALL") String state,
-                                          @RequestHeader(USER_ID) long userId,
-                                          @RequestParam(defaultValue = "0") int from,
-                                          @RequestParam(defaultValue = "20") int size) {
+    private Mono<ResponseEntity<Object>> getAll(@RequestParam(defaultValue = "ALL") String state,
+                                                @RequestHeader(USER_ID) long userId,
+                                                @RequestParam(defaultValue = "0") int from,
+                                                @RequestParam(defaultValue = "20") int size,
+                                                @RequestParam(required = false) String cursor) {
         log.info("Поступил запрос на предоставление списка бронирований.");
-        return bookingClient.getAll(state, userId, from, size);
+        return bookingClient.getAll(state, userId, from, size, cursor);
     }
 
     /**
      * Обрабатывает запрос на предоставления списка бронирований для владельца.
+     * Курсор следующей страницы возвращается в заголовке X-Next-Cursor и передается в параметре cursor.
      */
     @GetMapping("/owner")
-    private ResponseEntity<Object> getByUser(@RequestParam(defaultValue = "ALL") String state,
-                                             @RequestHeader(USER_ID) int userId,
-                                             @RequestParam(defaultValue = "0") int from,
-                                             @RequestParam(defaultValue = "20") int size) {
+    private Mono<ResponseEntity<Object>> getByUser(@RequestParam(defaultValue = "ALL") String state,
+                                                   @RequestHeader(USER_ID) int userId,
+                                                   @RequestParam(defaultValue = "0") int from,
+                                                   @RequestParam(defaultValue = "20") int size,
+                                                   @RequestParam(required = false) String cursor) {
         log.info("Поступил запрос на предоставление списка бронирований для владельца.");
-        return bookingClient.getByUser(state, userId, from, size);
+        return bookingClient.getByUser(state, userId, from, size, cursor);
     }
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+@Data
+@Builder(toBuilder = true)
+public class BookingStatusDto {
+    @Positive(message = "Уникальный идентификатор бронирования должен быть положительным.")
+    private int bookingId;
+    @NotNull(message = "Решение по бронированию не может отсутствовать.")
+    private Boolean approved;
+}
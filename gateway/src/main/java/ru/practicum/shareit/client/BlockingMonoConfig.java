@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Во всех профилях, кроме reactive, шлюз работает на Spring MVC и обращается к серверу через блокирующий
+ * {@link RestTemplateTransportFactory}. Возвращаемый контроллерами {@link Mono} дожидается ответа в потоке запроса
+ * и обрабатывается как значение, которое он содержит, поэтому асинхронная обработка запроса не запускается.
+ */
+@Configuration
+@Profile("!" + WebClientConfig.REACTIVE_PROFILE)
+public class BlockingMonoConfig {
+    @Bean
+    public SmartInitializingSingleton blockingMonoReturnValueHandler(RequestMappingHandlerAdapter adapter) {
+        return () -> {
+            List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(adapter.getReturnValueHandlers());
+            handlers.add(0, new BlockingMonoReturnValueHandler(
+                    new HandlerMethodReturnValueHandlerComposite().addHandlers(adapter.getReturnValueHandlers())));
+            adapter.setReturnValueHandlers(handlers);
+        };
+    }
+
+    /**
+     * Дожидается значения {@link Mono} и передает его обработчику, выбранному по типу этого значения.
+     */
+    private static class BlockingMonoReturnValueHandler implements HandlerMethodReturnValueHandler {
+        private final HandlerMethodReturnValueHandler delegate;
+
+        BlockingMonoReturnValueHandler(HandlerMethodReturnValueHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean supportsReturnType(MethodParameter returnType) {
+            return Mono.class.isAssignableFrom(returnType.getParameterType());
+        }
+
+        @Override
+        public void handleReturnValue(Object returnValue, MethodParameter returnType,
+                                      ModelAndViewContainer mavContainer, NativeWebRequest webRequest)
+                throws Exception {
+            Object value = returnValue == null ? null : ((Mono<?>) returnValue).block();
+            if (value == null) {
+                mavContainer.setRequestHandled(true);
+                return;
+            }
+            delegate.handleReturnValue(value, new MonoValueParameter(returnType), mavContainer, webRequest);
+        }
+    }
+
+    /**
+     * Возвращаемое значение метода контроллера, тип которого заменен на тип значения {@link Mono}.
+     */
+    private static class MonoValueParameter extends MethodParameter {
+        private final ResolvableType valueType;
+
+        MonoValueParameter(MethodParameter original) {
+            super(original);
+            this.valueType = ResolvableType.forMethodParameter(original).getGeneric();
+        }
+
+        private MonoValueParameter(MonoValueParameter original) {
+            super(original);
+            this.valueType = original.valueType;
+        }
+
+        @Override
+        public Class<?> getParameterType() {
+            return valueType.resolve(Object.class);
+        }
+
+        @Override
+        public Type getGenericParameterType() {
+            return valueType.getType();
+        }
+
+        @Override
+        public MonoValueParameter clone() {
+            return new MonoValueParameter(this);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки общего пула HTTP-соединений шлюза с сервером.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+    /**
+     * Максимальное количество соединений в пуле.
+     */
+    private int maxTotal = 200;
+    /**
+     * Максимальное количество соединений с одним адресом.
+     */
+    private int maxPerRoute = 200;
+    /**
+     * Время ожидания установки соединения.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * Время ожидания свободного соединения из пула.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+    /**
+     * Время ожидания ответа сервера.
+     */
+    private Duration readTimeout = Duration.ofSeconds(10);
+    /**
+     * Время жизни простаивающего соединения, если сервер не передал заголовок Keep-Alive.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+    /**
+     * Время простоя, после которого соединение закрывается фоновой очисткой пула.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    /**
+     * Время простоя, после которого соединение проверяется перед повторным использованием.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Ограниченный по размеру и времени хранения кэш успешных ответов сервера на запросы получения по идентификатору.
+ * Ключом служит ресурс, идентификатор и пользователь, от имени которого выполнен запрос,
+ * поэтому каждый пользователь получает свое представление ресурса.
+ * Записи ресурса удаляются для всех пользователей, когда шлюз передает серверу изменяющий его запрос.
+ * Каждое удаление увеличивает поколение ресурса: ответ на запрос, начатый до удаления, в кэш не записывается,
+ * так как сервер мог сформировать его до изменения.
+ * Статистика попаданий и промахов публикуется в метриках cache.* с тегом cache=gateway.responses.
+ * При нулевом максимальном размере кэш не создается и все запросы передаются серверу.
+ */
+public class ResponseCache {
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String REQUESTS = "requests";
+    /**
+     * Кэш ответов, null если кэш отключен.
+     */
+    private final Cache<Key, ResponseEntity<Object>> cache;
+    /**
+     * Поколения ресурсов, увеличиваются при каждом удалении записей ресурса.
+     */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        if (properties.getMaxSize() > 0) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaxSize())
+                    .expireAfterWrite(properties.getTtl())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.responses");
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Возвращает ответ из кэша, а при его отсутствии - ответ сервера, который кэшируется если он успешный
+     * и записи ресурса не удалялись, пока выполнялся запрос.
+     * @param resource ресурс.
+     * @param id       уникальный идентификатор экземпляра ресурса.
+     * @param userId   уникальный идентификатор пользователя, от имени которого выполняется запрос, или null.
+     * @param loader   запрос к серверу.
+     * @return возвращает ответ.
+     */
+    public Mono<ResponseEntity<Object>> get(String resource, int id, Long userId,
+                                            Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (cache == null) {
+            return Mono.defer(loader);
+        }
+        Key key = new Key(resource, id, userId);
+        return Mono.defer(() -> {
+            ResponseEntity<Object> cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            AtomicLong generation = generation(resource);
+            long loadedGeneration = generation.get();
+            return loader.get().doOnNext(response -> {
+                if (response.getStatusCode().is2xxSuccessful() && generation.get() == loadedGeneration) {
+                    cache.put(key, response);
+                    if (generation.get() != loadedGeneration) {
+                        cache.invalidate(key);
+                    }
+                }
+            });
+        });
+    }
+
+    /**
+     * Удаляет из кэша экземпляр ресурса для всех пользователей.
+     */
+    public void evict(String resource, int id) {
+        if (cache != null) {
+            generation(resource).incrementAndGet();
+            cache.asMap().keySet().removeIf(key -> key.resource.equals(resource) && key.id == id);
+        }
+    }
+
+    /**
+     * Удаляет из кэша все экземпляры ресурса.
+     */
+    public void evictAll(String resource) {
+        if (cache != null) {
+            generation(resource).incrementAndGet();
+            cache.asMap().keySet().removeIf(key -> key.resource.equals(resource));
+        }
+    }
+
+    private AtomicLong generation(String resource) {
+        return generations.computeIfAbsent(resource, r -> new AtomicLong());
+    }
+
+    @Value
+    private static class Key {
+        String resource;
+        int id;
+        Long userId;
+    }
+}
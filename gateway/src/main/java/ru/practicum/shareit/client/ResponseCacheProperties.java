@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки кэша ответов сервера в шлюзе.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.cache")
+public class ResponseCacheProperties {
+    /**
+     * Максимальное количество ответов в кэше, 0 - кэш отключен.
+     */
+    private long maxSize = 10_000;
+    /**
+     * Время хранения ответа с момента записи. Ограничивает устаревание данных,
+     * изменившихся без участия шлюза, например последнего и следующего бронирования вещи.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+}
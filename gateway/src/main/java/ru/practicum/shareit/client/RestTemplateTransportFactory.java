@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Блокирующий транспорт на {@link RestTemplate} с общим пулом соединений.
+ * Запрос выполняется в момент подписки в потоке подписчика: {@link BlockingMonoConfig} подписывается
+ * в потоке обработки запроса к шлюзу.
+ */
+public class RestTemplateTransportFactory implements ServerTransportFactory {
+    private final RestTemplateBuilder builder;
+    private final ClientHttpRequestFactory requestFactory;
+
+    public RestTemplateTransportFactory(RestTemplateBuilder builder, ClientHttpRequestFactory requestFactory) {
+        this.builder = builder;
+        this.requestFactory = requestFactory;
+    }
+
+    @Override
+    public ServerTransport create(String baseUrl) {
+        RestTemplate rest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                .requestFactory(() -> requestFactory)
+                .build();
+        return (method, path, headers, parameters, body) -> Mono.fromCallable(() -> {
+            HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+            try {
+                if (parameters != null) {
+                    return rest.exchange(path, method, requestEntity, byte[].class, parameters);
+                }
+                return rest.exchange(path, method, requestEntity, byte[].class);
+            } catch (HttpStatusCodeException e) {
+                return ResponseEntity.status(e.getStatusCode())
+                        .headers(e.getResponseHeaders())
+                        .body(e.getResponseBodyAsByteArray());
+            }
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Транспорт запросов шлюза к серверу.
+ */
+public interface ServerTransport {
+    /**
+     * Отправляет запрос серверу. Тело ответа не разбирается и возвращается в виде массива байт
+     * для побайтовой передачи клиенту шлюза, ответ с кодом ошибки не генерирует исключение.
+     * @param method     метод запроса.
+     * @param path       путь запроса относительно базового адреса, может содержать шаблонные переменные.
+     * @param headers    заголовки запроса.
+     * @param parameters значения шаблонных переменных пути.
+     * @param body       тело запроса.
+     * @return возвращает ответ сервера.
+     */
+    Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                          @Nullable Map<String, Object> parameters, @Nullable Object body);
+}
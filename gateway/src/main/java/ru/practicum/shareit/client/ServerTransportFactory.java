@@ -0,0 +1,14 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Создает транспорт запросов к серверу для клиентов шлюза.
+ * Реализация выбирается профилем приложения: блокирующая на RestTemplate по умолчанию
+ * и неблокирующая на WebClient в профиле reactive.
+ */
+public interface ServerTransportFactory {
+    /**
+     * @param baseUrl базовый адрес, относительно которого указываются пути запросов.
+     * @return возвращает транспорт запросов к серверу.
+     */
+    ServerTransport create(String baseUrl);
+}
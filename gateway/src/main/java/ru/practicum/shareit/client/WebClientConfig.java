@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Общий для всех клиентов шлюза неблокирующий HTTP-транспорт, включается профилем reactive.
+ * Ожидающие свободного соединения запросы ставятся в очередь без ограничения длины,
+ * время ожидания ограничено свойством connection-request-timeout.
+ */
+@Configuration
+@Profile(WebClientConfig.REACTIVE_PROFILE)
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class WebClientConfig {
+    /**
+     * Профиль, в котором шлюз работает на WebFlux и обращается к серверу через {@link WebClient}.
+     */
+    public static final String REACTIVE_PROFILE = "reactive";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider connectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getIdleTimeout())
+                .evictInBackground(properties.getIdleTimeout())
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector clientHttpConnector(ConnectionProvider connectionProvider,
+                                                   HttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                .keepAlive(true);
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Bean
+    public ServerTransportFactory serverTransportFactory(WebClient.Builder builder, ClientHttpConnector connector) {
+        return new WebClientTransportFactory(builder, connector);
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.Map;
+
+/**
+ * Неблокирующий транспорт на {@link WebClient} с общим пулом соединений Reactor Netty.
+ * Поток обработки запроса не занимается на время ожидания ответа сервера.
+ */
+public class WebClientTransportFactory implements ServerTransportFactory {
+    private final WebClient.Builder builder;
+    private final ClientHttpConnector connector;
+
+    public WebClientTransportFactory(WebClient.Builder builder, ClientHttpConnector connector) {
+        this.builder = builder;
+        this.connector = connector;
+    }
+
+    @Override
+    public ServerTransport create(String baseUrl) {
+        WebClient webClient = builder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(connector)
+                .build();
+        return (method, path, headers, parameters, body) -> {
+            WebClient.RequestBodySpec request = webClient.method(method)
+                    .uri(path, parameters != null ? parameters : Map.of())
+                    .headers(requestHeaders -> requestHeaders.addAll(headers));
+            WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+            return spec.exchangeToMono(response -> response.toEntity(byte[].class));
+        };
+    }
+}
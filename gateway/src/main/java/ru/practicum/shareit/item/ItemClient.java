@@ -2,17 +2,24 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
+import ru.practicum.shareit.exception.model.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.validation.Create;
 
+import javax.validation.Validator;
+import java.util.List;
 import java.util.Map;
 
+import static ru.practicum.shareit.client.ResponseCache.ITEMS;
+import static ru.practicum.shareit.client.ResponseCache.REQUESTS;
+import static ru.practicum.shareit.validation.Validator.batchValidator;
 import static ru.practicum.shareit.validation.Validator.idValidator;
 import static ru.practicum.shareit.validation.Validator.pageValidator;
 
@@ -20,48 +27,78 @@ import static ru.practicum.shareit.validation.Validator.pageValidator;
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final Validator validator;
+    private final ResponseCache responseCache;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory,
+                      Validator validator, ResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
+        this.validator = validator;
+        this.responseCache = responseCache;
+    }
+
+    public Mono<ResponseEntity<Object>> add(ItemDto itemDto, int userId) {
+        idValidator(userId);
+        return post("", userId, itemDto)
+                .doOnNext(response -> evictRequest(itemDto));
     }
 
-    public ResponseEntity<Object> add(ItemDto itemDto, int userId) {
+    public Mono<ResponseEntity<Object>> addAll(List<ItemDto> itemDtos, int userId) {
         idValidator(userId);
-        return post("", userId, itemDto);
+        batchValidator(itemDtos);
+        itemDtos.forEach(itemDto -> validator.validate(itemDto, Create.class).stream()
+                .findFirst()
+                .ifPresent(violation -> {
+                    throw new ValidationException(violation.getMessage());
+                }));
+        return post("/batch", userId, itemDtos)
+                .doOnNext(response -> itemDtos.forEach(this::evictRequest));
     }
 
-    public ResponseEntity<Object> update(ItemDto itemDto, int itemId, int userId) {
+    public Mono<ResponseEntity<Object>> update(ItemDto itemDto, int itemId, int userId) {
         idValidator(itemId);
         idValidator(userId);
-        return patch("/" + itemId, userId, itemDto);
+        return patch("/" + itemId, userId, itemDto)
+                .doOnNext(response -> {
+                    responseCache.evict(ITEMS, itemId);
+                    responseCache.evictAll(REQUESTS);
+                });
     }
 
-    public ResponseEntity<Object> getById(int itemId, int userId) {
+    public Mono<ResponseEntity<Object>> getById(int itemId, int userId) {
         idValidator(itemId);
         idValidator(userId);
-        return get("/" + itemId, userId);
+        return responseCache.get(ITEMS, itemId, (long) userId, () -> get("/" + itemId, userId));
     }
 
-    public ResponseEntity<Object> search(String text, long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> search(String text, long userId, int from, int size) {
         idValidator(userId);
         pageValidator(from, size);
         Map<String, Object> parameters = Map.of("text", text, "from", from, "size", size);
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAll(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAll(long userId, int from, int size) {
         idValidator(userId);
         pageValidator(from, size);
         Map<String, Object> parameters = Map.of("from", from, "size", size);
         return get("/?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(int itemId, int userId, CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> addComment(int itemId, int userId, CommentDto commentDto) {
         idValidator(itemId);
         idValidator(userId);
-        return post("/" + itemId + "/comment", userId, commentDto);
+        return post("/" + itemId + "/comment", userId, commentDto)
+                .doOnNext(response -> responseCache.evict(ITEMS, itemId));
+    }
+
+    /**
+     * Удаляет из кэша запрос, в ответ на который добавлена вещь.
+     */
+    private void evictRequest(ItemDto itemDto) {
+        if (itemDto.getRequestId() != 0) {
+            responseCache.evict(REQUESTS, itemDto.getRequestId());
+        }
     }
 }
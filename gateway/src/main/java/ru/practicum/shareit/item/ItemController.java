@@ -7,11 +7,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.validation.Create;
 import ru.practicum.shareit.validation.Update;
 
+import java.util.List;
+
 /**
  * Контроллер для работы с вещами.
  */
@@ -34,21 +37,32 @@ public class ItemController {
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> add(@Validated(Create.class)
-                                      @RequestBody ItemDto itemDto,
-                                      @RequestHeader(USER_ID) int userId) {
+    public Mono<ResponseEntity<Object>> add(@Validated(Create.class)
+                                            @RequestBody ItemDto itemDto,
+                                            @RequestHeader(USER_ID) int userId) {
         log.info("Поступил запрос на регистрацию и добавление.");
         return itemClient.add(itemDto, userId);
     }
 
+    /**
+     * Обрабатывает запрос на пакетную регистрацию и добавление.
+     */
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<Object>> addAll(@RequestBody List<ItemDto> itemDtos,
+                                               @RequestHeader(USER_ID) int userId) {
+        log.info("Поступил запрос на пакетную регистрацию и добавление.");
+        return itemClient.addAll(itemDtos, userId);
+    }
+
     /**
      * Обрабатывает запрос на обновление данных.
      */
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@Validated(Update.class)
-                                         @RequestBody ItemDto itemDto,
-                                         @PathVariable int itemId,
-                                         @RequestHeader(USER_ID) int userId) {
+    public Mono<ResponseEntity<Object>> update(@Validated(Update.class)
+                                               @RequestBody ItemDto itemDto,
+                                               @PathVariable int itemId,
+                                               @RequestHeader(USER_ID) int userId) {
         log.info("Поступил запрос на обновление данных.");
         return itemClient.update(itemDto, itemId, userId);
     }
@@ -57,8 +71,8 @@ public class ItemController {
      * Обрабатывает запрос на предоставление вещи по уникальному идентификатору.
      */
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> get(@PathVariable int itemId,
-                                      @RequestHeader(USER_ID) int userId) {
+    public Mono<ResponseEntity<Object>> get(@PathVariable int itemId,
+                                            @RequestHeader(USER_ID) int userId) {
         log.info("Поступил запрос на предоставление вещи по уникальному идентификатору.");
         return itemClient.getById(itemId, userId);
     }
@@ -67,10 +81,10 @@ public class ItemController {
      * Обрабатывает запросы на предоставление списка вещей по поисковому запросу.
      */
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestParam String text,
-                                         @RequestHeader(USER_ID) long userId,
-                                         @RequestParam (defaultValue = "0") int from,
-                                         @RequestParam (defaultValue = "20") int size) {
+    public Mono<ResponseEntity<Object>> search(@RequestParam String text,
+                                               @RequestHeader(USER_ID) long userId,
+                                               @RequestParam (defaultValue = "0") int from,
+                                               @RequestParam (defaultValue = "20") int size) {
         log.info("Поступил запрос на предоставление списка вещей по поисковому запросу.");
         return itemClient.search(text, userId, from, size);
     }
@@ -79,9 +93,9 @@ public class ItemController {
      * Обрабатывает запросы на предоставления списка вещей пользователя.
      */
     @GetMapping
-    public ResponseEntity<Object> getAll(@RequestHeader(USER_ID) long userId,
-                                         @RequestParam (defaultValue = "0") int from,
-                                         @RequestParam (defaultValue = "20") int size) {
+    public Mono<ResponseEntity<Object>> getAll(@RequestHeader(USER_ID) long userId,
+                                               @RequestParam (defaultValue = "0") int from,
+                                               @RequestParam (defaultValue = "20") int size) {
         log.info("Поступил запрос на предоставления списка вещей пользователя.");
         return itemClient.getAll(userId, from, size);
     }
@@ -90,10 +104,10 @@ public class ItemController {
      * Обрабатывает запросы на создание комментария.
      */
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@Validated(Create.class)
-                                             @RequestBody CommentDto commentDto,
-                                             @PathVariable int itemId,
-                                             @RequestHeader(USER_ID) int userId) {
+    public Mono<ResponseEntity<Object>> addComment(@Validated(Create.class)
+                                                   @RequestBody CommentDto commentDto,
+                                                   @PathVariable int itemId,
+                                                   @RequestHeader(USER_ID) int userId) {
         log.info("Поступил запрос на создание комментария.");
         return itemClient.addComment(itemId, userId, commentDto);
     }
@@ -2,16 +2,17 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
 
+import static ru.practicum.shareit.client.ResponseCache.REQUESTS;
 import static ru.practicum.shareit.validation.Validator.idValidator;
 import static ru.practicum.shareit.validation.Validator.pageValidator;
 
@@ -19,34 +20,35 @@ import static ru.practicum.shareit.validation.Validator.pageValidator;
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl,
+                         ServerTransportFactory transportFactory, ResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> add(ItemRequestDto itemRequestDto, int userId) {
+    public Mono<ResponseEntity<Object>> add(ItemRequestDto itemRequestDto, int userId) {
         idValidator(userId);
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> get(int userId) {
+    public Mono<ResponseEntity<Object>> get(int userId) {
         idValidator(userId);
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAll(int from, int size, long userId) {
+    public Mono<ResponseEntity<Object>> getAll(int from, int size, long userId) {
         idValidator(userId);
         pageValidator(from, size);
         Map<String, Object> parameters = Map.of("from", from, "size", size);
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getById(int requestId, int userId) {
+    public Mono<ResponseEntity<Object>> getById(int requestId, int userId) {
         idValidator(requestId);
         idValidator(userId);
-        return get("/" + requestId, userId);
+        return responseCache.get(REQUESTS, requestId, (long) userId, () -> get("/" + requestId, userId));
     }
 }
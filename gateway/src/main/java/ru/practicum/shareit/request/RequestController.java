@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.validation.Create;
 
@@ -30,9 +31,9 @@ public class RequestController {
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> add(@Validated(Create.class)
-                                      @RequestBody ItemRequestDto itemRequestDto,
-                                      @RequestHeader(USER_ID) int userId) {
+    public Mono<ResponseEntity<Object>> add(@Validated(Create.class)
+                                            @RequestBody ItemRequestDto itemRequestDto,
+                                            @RequestHeader(USER_ID) int userId) {
         log.info("Поступил запрос на регистрацию запроса.");
         return requestClient.add(itemRequestDto, userId);
     }
@@ -41,7 +42,7 @@ public class RequestController {
      * Обрабатывает запрос на предоставление пользователю списка его {@link ItemRequestDto}.
      */
     @GetMapping
-    public ResponseEntity<Object> get(@RequestHeader(USER_ID) int userId) {
+    public Mono<ResponseEntity<Object>> get(@RequestHeader(USER_ID) int userId) {
         log.info("Поступил запрос на предоставление пользователю списка его запросов.");
         return requestClient.get(userId);
     }
@@ -50,9 +51,9 @@ public class RequestController {
      * Обрабатывает запрос на получение списка {@link ItemRequestDto}, созданных другими пользователями.
      */
     @GetMapping("/all")
-    public ResponseEntity<Object> getAll(@RequestParam (defaultValue = "0") int from,
-                                         @RequestParam (defaultValue = "20") int size,
-                                         @RequestHeader(USER_ID) long userId) {
+    public Mono<ResponseEntity<Object>> getAll(@RequestParam (defaultValue = "0") int from,
+                                               @RequestParam (defaultValue = "20") int size,
+                                               @RequestHeader(USER_ID) long userId) {
         log.info("Поступил запрос на предоставление списка запросов созданных другими пользователями.");
         return requestClient.getAll(from, size, userId);
     }
@@ -61,8 +62,8 @@ public class RequestController {
      * Обрабатывает запрос на предоставление {@link ItemRequestDto} по уникальному идентификатору.
      */
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getById(@PathVariable int requestId,
-                                          @RequestHeader(USER_ID) int userId) {
+    public Mono<ResponseEntity<Object>> getById(@PathVariable int requestId,
+                                                @RequestHeader(USER_ID) int userId) {
         log.info("Поступил запрос на предоставление запроса по уникальному идентификатору.");
         return requestClient.getById(requestId, userId);
     }
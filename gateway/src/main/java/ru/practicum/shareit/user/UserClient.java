@@ -2,48 +2,61 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
+import static ru.practicum.shareit.client.ResponseCache.ITEMS;
+import static ru.practicum.shareit.client.ResponseCache.REQUESTS;
+import static ru.practicum.shareit.client.ResponseCache.USERS;
 import static ru.practicum.shareit.validation.Validator.idValidator;
 
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      ServerTransportFactory transportFactory, ResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         return get("");
     }
 
-    public ResponseEntity<Object> add(UserRequestDto userRequestDto) {
+    public Mono<ResponseEntity<Object>> add(UserRequestDto userRequestDto) {
         return post("", userRequestDto);
     }
 
-    public ResponseEntity<Object> update(int id, UserRequestDto userRequestDto) {
+    public Mono<ResponseEntity<Object>> update(int id, UserRequestDto userRequestDto) {
         idValidator(id);
-        return patch("/" + id, userRequestDto);
+        return patch("/" + id, userRequestDto)
+                .doOnNext(response -> {
+                    responseCache.evict(USERS, id);
+                    responseCache.evictAll(ITEMS);
+                });
     }
 
-    public void delete(int id) {
+    public Mono<ResponseEntity<Object>> delete(int id) {
         idValidator(id);
-        delete("/" + id);
+        return delete("/" + id)
+                .doOnNext(response -> {
+                    responseCache.evict(USERS, id);
+                    responseCache.evictAll(ITEMS);
+                    responseCache.evictAll(REQUESTS);
+                });
     }
 
-    public ResponseEntity<Object> get(int id) {
+    public Mono<ResponseEntity<Object>> get(int id) {
         idValidator(id);
-        return get("/" + id);
+        return responseCache.get(USERS, id, null, () -> get("/" + id));
     }
 }
@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.validation.Create;
 import ru.practicum.shareit.validation.Update;
@@ -28,7 +29,7 @@ public class UserController {
      * Обрабатывает запрос на получение списка всех пользователей.
      */
     @GetMapping
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         log.info("Получен запрос на предоставление списка всех пользователей.");
         return userClient.getAll();
     }
@@ -38,8 +39,8 @@ public class UserController {
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> add(@Validated(Create.class)
-                                      @RequestBody UserRequestDto userRequestDto) {
+    public Mono<ResponseEntity<Object>> add(@Validated(Create.class)
+                                            @RequestBody UserRequestDto userRequestDto) {
         log.info("Получен запрос на регистрацию пользователя.");
         return userClient.add(userRequestDto);
     }
@@ -48,9 +49,9 @@ public class UserController {
      * Обрабатывает запрос на обновление данных пользователя.
      */
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@Validated(Update.class)
-                                         @RequestBody UserRequestDto userRequestDto,
-                                         @PathVariable int userId) {
+    public Mono<ResponseEntity<Object>> update(@Validated(Update.class)
+                                               @RequestBody UserRequestDto userRequestDto,
+                                               @PathVariable int userId) {
         log.info("Получен запрос на обновление данных пользователя.");
         return userClient.update(userId, userRequestDto);
     }
@@ -60,16 +61,16 @@ public class UserController {
      */
     @DeleteMapping("/{userId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable int userId) {
+    public Mono<Void> delete(@PathVariable int userId) {
         log.info("Получен запрос на удаление пользователя.");
-        userClient.delete(userId);
+        return userClient.delete(userId).then();
     }
 
     /**
      * Обрабатывает запросы на предоставление пользователя по уникальному идентификатору.
      */
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> get(@PathVariable int userId) {
+    public Mono<ResponseEntity<Object>> get(@PathVariable int userId) {
         log.info("Получен запрос на предоставление пользователя по уникальному идентификатору.");
         return userClient.get(userId);
     }
@@ -5,12 +5,19 @@ import ru.practicum.shareit.exception.model.StateException;
 import ru.practicum.shareit.exception.model.ValidationException;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * Валидатор поступающих параметров.
  * Генерирует {@link ValidationException} если значение from отрицательное или если size меньше 1.
  */
 public class Validator {
+    /**
+     * Максимальное количество элементов в одном пакетном запросе.
+     */
+    public static final int MAX_BATCH_SIZE = 1000;
+
     public static void pageValidator(int from, int size) {
         if (from < 0) {
             throw new ValidationException("Значение from не может быть отрицательным.");
@@ -27,6 +34,17 @@ public class Validator {
         }
     }
 
+    public static void batchValidator(List<?> batch) {
+        if (batch.isEmpty()) {
+            throw new ValidationException("Пакет не может быть пустым.");
+        } else if (batch.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException(String.format("Пакет не может содержать больше %d элементов.",
+                    MAX_BATCH_SIZE));
+        } else if (batch.stream().anyMatch(Objects::isNull)) {
+            throw new ValidationException("Пакет не может содержать пустые элементы.");
+        }
+    }
+
     public static void stateValidator(String state) {
         Arrays.stream(State.values())
                 .filter(state1 -> state1.toString().equals(state))
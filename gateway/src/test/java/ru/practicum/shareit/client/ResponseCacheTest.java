@@ -0,0 +1,93 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ResponseCacheTest {
+    private final AtomicInteger calls = new AtomicInteger();
+    private final ResponseCache cache = cache(10);
+
+    @Test
+    public void hitTest() {
+        assertEquals("1", get(cache, ResponseCache.ITEMS, 1, 1L), "Ответ отличается.");
+        assertEquals("1", get(cache, ResponseCache.ITEMS, 1, 1L), "Ответ отличается.");
+        assertEquals(1, calls.get(), "Количество запросов к серверу отличается.");
+    }
+
+    @Test
+    public void userScopedKeyTest() {
+        get(cache, ResponseCache.ITEMS, 1, 1L);
+        assertEquals("2", get(cache, ResponseCache.ITEMS, 1, 2L), "Ответ другого пользователя взят из кэша.");
+        assertEquals(2, calls.get(), "Количество запросов к серверу отличается.");
+    }
+
+    @Test
+    public void errorNotCachedTest() {
+        load(cache, ResponseCache.ITEMS, 1, 1L, HttpStatus.NOT_FOUND);
+        load(cache, ResponseCache.ITEMS, 1, 1L, HttpStatus.NOT_FOUND);
+        assertEquals(2, calls.get(), "Ответ с ошибкой попал в кэш.");
+    }
+
+    @Test
+    public void evictTest() {
+        get(cache, ResponseCache.ITEMS, 1, 1L);
+        get(cache, ResponseCache.ITEMS, 1, 2L);
+        get(cache, ResponseCache.ITEMS, 2, 1L);
+        cache.evict(ResponseCache.ITEMS, 1);
+        assertEquals("4", get(cache, ResponseCache.ITEMS, 1, 1L), "Ответ не удален из кэша.");
+        assertEquals("5", get(cache, ResponseCache.ITEMS, 1, 2L), "Ответ не удален из кэша.");
+        assertEquals("3", get(cache, ResponseCache.ITEMS, 2, 1L), "Удален ответ на другой экземпляр.");
+    }
+
+    @Test
+    public void evictAllTest() {
+        get(cache, ResponseCache.ITEMS, 1, 1L);
+        get(cache, ResponseCache.USERS, 1, null);
+        cache.evictAll(ResponseCache.ITEMS);
+        assertEquals("3", get(cache, ResponseCache.ITEMS, 1, 1L), "Ответ не удален из кэша.");
+        assertEquals("2", get(cache, ResponseCache.USERS, 1, null), "Удален ответ на другой ресурс.");
+    }
+
+    @Test
+    public void evictDuringLoadTest() {
+        Sinks.One<ResponseEntity<Object>> sink = Sinks.one();
+        Mono<ResponseEntity<Object>> pending = cache.get(ResponseCache.ITEMS, 1, 1L, sink::asMono);
+        pending.subscribe();
+        cache.evict(ResponseCache.ITEMS, 1);
+        sink.tryEmitValue(ResponseEntity.ok("old"));
+        assertEquals("1", get(cache, ResponseCache.ITEMS, 1, 1L),
+                "В кэш записан ответ, полученный до изменения ресурса.");
+    }
+
+    @Test
+    public void disabledTest() {
+        ResponseCache disabled = cache(0);
+        get(disabled, ResponseCache.ITEMS, 1, 1L);
+        get(disabled, ResponseCache.ITEMS, 1, 1L);
+        assertEquals(2, calls.get(), "Ответ взят из отключенного кэша.");
+    }
+
+    private ResponseCache cache(long maxSize) {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxSize(maxSize);
+        return new ResponseCache(properties, new SimpleMeterRegistry());
+    }
+
+    private Object get(ResponseCache responseCache, String resource, int id, Long userId) {
+        return load(responseCache, resource, id, userId, HttpStatus.OK).getBody();
+    }
+
+    private ResponseEntity<Object> load(ResponseCache responseCache, String resource, int id, Long userId,
+                                        HttpStatus status) {
+        return responseCache.get(resource, id, userId, () -> Mono.fromCallable(() ->
+                ResponseEntity.status(status).body(String.valueOf(calls.incrementAndGet())))).block();
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking.assistant;
+
+import lombok.Getter;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.model.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Курсор постраничной выдачи бронирований по ключу (start, id) в порядке убывания.
+ * Клиенту передается в непрозрачном виде - строкой Base64.
+ */
+@Getter
+public class BookingCursor {
+    private static final String SEPARATOR = "_";
+    /**
+     * Дата и время начала последнего выданного бронирования.
+     */
+    private final LocalDateTime start;
+    /**
+     * Уникальный идентификатор последнего выданного бронирования.
+     */
+    private final int id;
+
+    private BookingCursor(LocalDateTime start, int id) {
+        this.start = start;
+        this.id = id;
+    }
+
+    /**
+     * Создает курсор, указывающий на бронирование.
+     * @param bookingDto последнее бронирование выданной страницы.
+     * @return возвращает курсор следующей страницы.
+     */
+    public static BookingCursor of(BookingDto bookingDto) {
+        return new BookingCursor(bookingDto.getStart(), bookingDto.getId());
+    }
+
+    /**
+     * Восстанавливает курсор из строкового представления.
+     * Генерирует {@link ValidationException} если курсор указан некорректно.
+     * @param cursor строковое представление курсора.
+     * @return возвращает курсор.
+     */
+    public static BookingCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR);
+            if (parts.length != 2) {
+                throw new ValidationException("Некорректно указан курсор.");
+            }
+            return new BookingCursor(LocalDateTime.parse(parts[0]), Integer.parseInt(parts[1]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new ValidationException("Некорректно указан курсор.");
+        }
+    }
+
+    /**
+     * @return возвращает строковое представление курсора.
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((start + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
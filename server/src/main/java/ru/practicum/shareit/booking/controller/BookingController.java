@@ -2,9 +2,13 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.assistant.BookingCursor;
 import ru.practicum.shareit.booking.assistant.State;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResultDto;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
@@ -22,6 +26,10 @@ public class BookingController {
      * Предоставляет доступ к сервису бронирований.
      */
     private final BookingService bookingService;
+    /**
+     * Заголовок ответа с курсором следующей страницы списка бронирований.
+     */
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
 
     /**
      * Обрабатывает запрос на регистрацию бронирования.
@@ -43,6 +51,15 @@ public class BookingController {
         return bookingService.statusAppropriator(bookingId, approved, userId);
     }
 
+    /**
+     * Обрабатывает запрос на пакетное подтверждение или отклонение бронирований владельцем.
+     */
+    @PatchMapping("/batch")
+    public List<BookingStatusResultDto> statusAppropriatorAll(@RequestBody List<BookingStatusDto> statuses,
+                                                              @RequestHeader(USER_ID) int userId) {
+        return bookingService.statusAppropriatorAll(statuses, userId);
+    }
+
     /**
      * Обрабатывает запросы на предоставление данных конкретного бронирования.
      */
@@ -54,23 +71,42 @@ public class BookingController {
 
     /**
      * Обрабатывает запрос на предоставление списка в рамках: {@link State}.
+     * Если передан курсор, страница выбирается по ключу вместо смещения from.
      */
     @GetMapping
-    private List<BookingDto> getAll(@RequestParam String state,
-                                    @RequestHeader(USER_ID) int userId,
-                                    @RequestParam int from,
-                                    @RequestParam int size) {
-        return bookingService.getAll(state, userId, from, size);
+    private ResponseEntity<List<BookingDto>> getAll(@RequestParam String state,
+                                                    @RequestHeader(USER_ID) int userId,
+                                                    @RequestParam int from,
+                                                    @RequestParam int size,
+                                                    @RequestParam(required = false) String cursor) {
+        return withNextCursor(cursor == null
+                ? bookingService.getAll(state, userId, from, size)
+                : bookingService.getAll(state, userId, BookingCursor.decode(cursor), size), size);
     }
 
     /**
      * Обрабатывает запрос на предоставления списка бронирований для владельца в рамках {@link State}.
+     * Если передан курсор, страница выбирается по ключу вместо смещения from.
      */
     @GetMapping("/owner")
-    private List<BookingDto> getByUser(@RequestParam String state,
-                                       @RequestHeader(USER_ID) int userId,
-                                       @RequestParam int from,
-                                       @RequestParam int size) {
-        return bookingService.getByUser(state, userId, from, size);
+    private ResponseEntity<List<BookingDto>> getByUser(@RequestParam String state,
+                                                       @RequestHeader(USER_ID) int userId,
+                                                       @RequestParam int from,
+                                                       @RequestParam int size,
+                                                       @RequestParam(required = false) String cursor) {
+        return withNextCursor(cursor == null
+                ? bookingService.getByUser(state, userId, from, size)
+                : bookingService.getByUser(state, userId, BookingCursor.decode(cursor), size), size);
+    }
+
+    /**
+     * Добавляет к полной странице бронирований заголовок с курсором следующей страницы.
+     */
+    private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            response.header(NEXT_CURSOR, BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+        return response.body(bookings);
     }
 }
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Getter;
+import ru.practicum.shareit.booking.assistant.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка списка бронирований, выбираемая выражением конструктора BookingRepository.SELECT_PROJECTION.
+ * Вещь, пользователи и запрос собираются из столбцов выборки как обычные объекты,
+ * не попадают в контекст персистентности и не отслеживаются на изменения.
+ */
+@Getter
+public class BookingProjection {
+    private final int id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final Status status;
+    private final Item item;
+    private final User booker;
+
+    public BookingProjection(int id, LocalDateTime start, LocalDateTime end, Status status,
+                             int itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                             int ownerId, String ownerName, String ownerEmail,
+                             Integer requestId, String requestDescription, LocalDateTime requestCreated,
+                             Integer requestorId, String requestorName, String requestorEmail,
+                             int bookerId, String bookerName, String bookerEmail) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.status = status;
+        this.item = Item.builder()
+                .id(itemId)
+                .name(itemName)
+                .description(itemDescription)
+                .available(itemAvailable)
+                .owner(new User(ownerId, ownerName, ownerEmail))
+                .request(requestId == null ? null : ItemRequest.builder()
+                        .id(requestId)
+                        .description(requestDescription)
+                        .created(requestCreated)
+                        .requestor(requestorId == null ? null : new User(requestorId, requestorName, requestorEmail))
+                        .build())
+                .build();
+        this.booker = new User(bookerId, bookerName, bookerEmail);
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.Booking;
+
+/**
+ * DTO-класс решения владельца вещи по {@link Booking} в пакетной обработке статусов.
+ */
+@Data
+@Builder(toBuilder = true)
+public class BookingStatusDto {
+    private int bookingId;
+    private boolean approved;
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.Booking;
+
+/**
+ * DTO-класс результата пакетной обработки статуса одного {@link Booking}.
+ * При успешной обработке содержит бронирование, иначе - описание ошибки.
+ */
+@Data
+@Builder(toBuilder = true)
+public class BookingStatusResultDto {
+    private int bookingId;
+    private Result result;
+    private String error;
+    private BookingDto booking;
+
+    /**
+     * Результат обработки статуса бронирования.
+     */
+    public enum Result {
+        /**
+         * Статус бронирования изменен.
+         */
+        UPDATED,
+        /**
+         * Бронирование не обнаружено среди бронирований вещей пользователя.
+         */
+        NOT_FOUND,
+        /**
+         * Бронирование уже было обработано ранее или указано в пакете повторно.
+         */
+        ALREADY_PROCESSED,
+        /**
+         * Бронирование было обработано другим запросом во время обработки пакета.
+         */
+        CONFLICT
+    }
+}
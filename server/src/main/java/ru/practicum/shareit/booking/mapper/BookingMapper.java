@@ -4,10 +4,13 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIncreasedConfidential;
+import ru.practicum.shareit.booking.dto.BookingProjection;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 
 /**
- * Маппер для работы с {@link Booking}, {@link BookingDto} и {@link BookingDtoIncreasedConfidential}.
+ * Маппер для работы с {@link Booking}, {@link BookingProjection}, {@link BookingDto},
+ * {@link BookingDtoIncreasedConfidential} и {@link ItemBookingSummary}.
  */
 @Mapper(componentModel = "spring")
 public interface BookingMapper {
@@ -15,7 +18,23 @@ public interface BookingMapper {
 
     BookingDto toBookingDto(Booking booking);
 
+    BookingDto toBookingDto(BookingProjection projection);
+
     @Mapping(target = "itemId", source = "booking.item.id")
     @Mapping(target = "bookerId", source = "booking.booker.id")
     BookingDtoIncreasedConfidential toBookingDtoIncreasedConfidential(Booking booking);
+
+    @Mapping(target = "id", source = "lastBookingId")
+    @Mapping(target = "bookerId", source = "lastBookerId")
+    @Mapping(target = "start", source = "lastStart")
+    @Mapping(target = "end", source = "lastEnd")
+    @Mapping(target = "status", constant = "APPROVED")
+    BookingDtoIncreasedConfidential toLastBookingDto(ItemBookingSummary summary);
+
+    @Mapping(target = "id", source = "nextBookingId")
+    @Mapping(target = "bookerId", source = "nextBookerId")
+    @Mapping(target = "start", source = "nextStart")
+    @Mapping(target = "end", source = "nextEnd")
+    @Mapping(target = "status", constant = "APPROVED")
+    BookingDtoIncreasedConfidential toNextBookingDto(ItemBookingSummary summary);
 }
@@ -3,7 +3,9 @@ package ru.practicum.shareit.booking.model;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import ru.practicum.shareit.booking.assistant.Status;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -16,6 +18,8 @@ import java.time.LocalDateTime;
 
 /**
  * Класс бронирования.
+ * Граф {@value #DETAILS_GRAPH} загружает бронирование вместе с вещью, ее владельцем и запросом, а также автором
+ * бронирования одним запросом.
  */
 @Data
 @AllArgsConstructor
@@ -23,12 +27,26 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "bookings")
 @Builder(toBuilder = true)
+@NamedEntityGraph(name = Booking.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "item", subgraph = "item"),
+                @NamedAttributeNode("booker")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "item", attributeNodes = {
+                        @NamedAttributeNode("owner"),
+                        @NamedAttributeNode(value = "request", subgraph = "request")
+                }),
+                @NamedSubgraph(name = "request", attributeNodes = @NamedAttributeNode("requestor"))
+        })
 public class Booking {
+    public static final String DETAILS_GRAPH = "Booking.details";
     /**
      * Уникальный идентификатор бронирования.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private int id;
     /**
      * Дата и время начала бронирования.
@@ -49,19 +67,28 @@ public class Booking {
     /**
      * Вещь, которую бронирует пользователь.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     @NotNull(message = "Вещь для бронирования не может отсутствовать.")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Item item;
     /**
      * Пользователь, который осуществляет бронирование.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User booker;
     /**
      * Статус бронирования.
      */
     @Enumerated(EnumType.STRING)
     private Status status;
+    /**
+     * Версия бронирования, увеличивается при каждом изменении статуса.
+     */
+    @Version
+    private long version;
 }
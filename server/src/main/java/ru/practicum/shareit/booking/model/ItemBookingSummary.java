@@ -0,0 +1,62 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import java.time.LocalDateTime;
+
+/**
+ * Сводка последнего и следующего подтвержденного бронирования {@link Item}.
+ * Поля бронирований скопированы в сводку, поэтому владелец получает их без поиска и сортировки бронирований.
+ * Сводка считается устаревшей, когда начало следующего бронирования уже наступило.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "item_booking_summaries")
+@Builder(toBuilder = true)
+public class ItemBookingSummary {
+    /**
+     * Уникальный идентификатор вещи.
+     */
+    @Id
+    @Column(name = "item_id")
+    private int itemId;
+    /**
+     * Последнее бронирование: уникальный идентификатор, автор, начало и окончание.
+     */
+    @Column(name = "last_booking_id")
+    private Integer lastBookingId;
+    @Column(name = "last_booker_id")
+    private Integer lastBookerId;
+    @Column(name = "last_start_date")
+    private LocalDateTime lastStart;
+    @Column(name = "last_end_date")
+    private LocalDateTime lastEnd;
+    /**
+     * Следующее бронирование: уникальный идентификатор, автор, начало и окончание.
+     */
+    @Column(name = "next_booking_id")
+    private Integer nextBookingId;
+    @Column(name = "next_booker_id")
+    private Integer nextBookerId;
+    @Column(name = "next_start_date")
+    private LocalDateTime nextStart;
+    @Column(name = "next_end_date")
+    private LocalDateTime nextEnd;
+    /**
+     * Версия сводки, увеличивается при каждом изменении.
+     * Отсутствует у еще не сохраненной сводки, по этому признаку новая сводка вставляется без предварительного чтения.
+     */
+    @Version
+    private Long version;
+}
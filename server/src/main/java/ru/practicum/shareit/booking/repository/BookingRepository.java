@@ -1,58 +1,214 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.assistant.Status;
+import ru.practicum.shareit.booking.dto.BookingProjection;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Хранилище для {@link Booking}.
+ * Постраничные выборки возвращают List: общее количество не используется, поэтому запрос COUNT не выполняется.
+ * Отдельное бронирование загружается по графу {@link Booking#DETAILS_GRAPH},
+ * списки бронирований выбираются только для чтения в виде {@link BookingProjection}.
  */
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
-    Page<Booking> findBookingByBookerIdAndStartIsBeforeAndEndIsAfter(int userId,
-                                                                     LocalDateTime start,
-                                                                     LocalDateTime end,
-                                                                     Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Integer>, BookingRepositoryCustom {
+    /**
+     * Условие выборки бронирований, следующих за курсором в порядке убывания (start, id).
+     */
+    String AFTER_CURSOR = "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId))";
 
-    Page<Booking> findBookingByBookerIdAndEndIsBefore(int userId,
-                                                      LocalDateTime currentTime,
-                                                      Pageable pageable);
+    /**
+     * Начало выборки строк списка бронирований: данные вещи, владельца, запроса и арендатора
+     * выбираются одним запросом сразу в {@link BookingProjection}, минуя создание сущностей.
+     */
+    String SELECT_PROJECTION = "select new ru.practicum.shareit.booking.dto.BookingProjection(" +
+            "b.id, b.start, b.end, b.status, i.id, i.name, i.description, i.available, o.id, o.name, o.email, " +
+            "r.id, r.description, r.created, q.id, q.name, q.email, u.id, u.name, u.email) " +
+            "from Booking b join b.item i join i.owner o left join i.request r left join r.requestor q " +
+            "join b.booker u ";
 
-    Page<Booking> findBookingByBookerIdAndStartIsAfter(int userId,
-                                                       LocalDateTime currentTime,
-                                                       Pageable pageable);
+    @Override
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Optional<Booking> findById(Integer id);
 
-    Page<Booking> findBookingByBookerIdAndStatus(int userId,
-                                                 Status status,
-                                                 Pageable pageable);
+    /**
+     * Бронирования из списка, относящиеся к вещам владельца: принадлежность проверяется в том же запросе.
+     */
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findByIdInAndItemOwnerId(Collection<Integer> ids, int ownerId);
 
-    Page<Booking> findBookingByBookerId(int userId,
-                                        Pageable pageable);
+    @Query(SELECT_PROJECTION +
+            "where u.id = :userId and b.start < :currentTime and b.end > :currentTime")
+    List<BookingProjection> findBookingByBookerIdAndStartIsBeforeAndEndIsAfter(
+            @Param("userId") int userId,
+            @Param("currentTime") LocalDateTime currentTime,
+            Pageable pageable);
 
-    Page<Booking> findBookingByItemOwnerIdAndStartIsBeforeAndEndIsAfter(int userId,
-                                                                        LocalDateTime start,
-                                                                        LocalDateTime end,
-                                                                        Pageable pageable);
+    @Query(SELECT_PROJECTION +
+            "where u.id = :userId and b.end < :currentTime")
+    List<BookingProjection> findBookingByBookerIdAndEndIsBefore(@Param("userId") int userId,
+                                                                @Param("currentTime") LocalDateTime currentTime,
+                                                                Pageable pageable);
 
-    Page<Booking> findBookingByItemOwnerIdAndEndIsBefore(int userId,
-                                                         LocalDateTime currentTime,
-                                                         Pageable pageable);
+    @Query(SELECT_PROJECTION +
+            "where u.id = :userId and b.start > :currentTime")
+    List<BookingProjection> findBookingByBookerIdAndStartIsAfter(@Param("userId") int userId,
+                                                                 @Param("currentTime") LocalDateTime currentTime,
+                                                                 Pageable pageable);
 
-    Page<Booking> findBookingByItemOwnerIdAndStartIsAfter(int userId,
-                                                          LocalDateTime currentTime,
-                                                          Pageable pageable);
+    @Query(SELECT_PROJECTION +
+            "where u.id = :userId and b.status = :status")
+    List<BookingProjection> findBookingByBookerIdAndStatus(@Param("userId") int userId,
+                                                           @Param("status") Status status,
+                                                           Pageable pageable);
 
-    Page<Booking> findBookingByItemOwnerIdAndStatus(int userId,
-                                                    Status status,
-                                                    Pageable pageable);
+    @Query(SELECT_PROJECTION +
+            "where u.id = :userId")
+    List<BookingProjection> findBookingByBookerId(@Param("userId") int userId,
+                                                  Pageable pageable);
 
-    Page<Booking> findBookingByItemOwnerId(int userId,
-                                           Pageable pageable);
+    @Query(SELECT_PROJECTION +
+            "where o.id = :userId and b.start < :currentTime and b.end > :currentTime")
+    List<BookingProjection> findBookingByItemOwnerIdAndStartIsBeforeAndEndIsAfter(
+            @Param("userId") int userId,
+            @Param("currentTime") LocalDateTime currentTime,
+            Pageable pageable);
+
+    @Query(SELECT_PROJECTION +
+            "where o.id = :userId and b.end < :currentTime")
+    List<BookingProjection> findBookingByItemOwnerIdAndEndIsBefore(@Param("userId") int userId,
+                                                                   @Param("currentTime") LocalDateTime currentTime,
+                                                                   Pageable pageable);
+
+    @Query(SELECT_PROJECTION +
+            "where o.id = :userId and b.start > :currentTime")
+    List<BookingProjection> findBookingByItemOwnerIdAndStartIsAfter(@Param("userId") int userId,
+                                                                    @Param("currentTime") LocalDateTime currentTime,
+                                                                    Pageable pageable);
+
+    @Query(SELECT_PROJECTION +
+            "where o.id = :userId and b.status = :status")
+    List<BookingProjection> findBookingByItemOwnerIdAndStatus(@Param("userId") int userId,
+                                                              @Param("status") Status status,
+                                                              Pageable pageable);
+
+    @Query(SELECT_PROJECTION +
+            "where o.id = :userId")
+    List<BookingProjection> findBookingByItemOwnerId(@Param("userId") int userId,
+                                                     Pageable pageable);
+
+    @Query(SELECT_PROJECTION +
+            "where u.id = :userId and b.start < :currentTime and b.end > :currentTime " + AFTER_CURSOR)
+    List<BookingProjection> seekBookingByBookerIdAndStartIsBeforeAndEndIsAfter(
+            @Param("userId") int userId,
+            @Param("currentTime") LocalDateTime currentTime,
+            @Param("cursorStart") LocalDateTime cursorStart,
+            @Param("cursorId") int cursorId,
+            Pageable pageable);
+
+    @Query(SELECT_PROJECTION +
+            "where u.id = :userId and b.end < :currentTime " + AFTER_CURSOR)
+    List<BookingProjection> seekBookingByBookerIdAndEndIsBefore(@Param("userId") int userId,
+                                                                @Param("currentTime") LocalDateTime currentTime,
+                                                                @Param("cursorStart") LocalDateTime cursorStart,
+                                                                @Param("cursorId") int cursorId,
+                                                                Pageable pageable);
+
+    @Query(SELECT_PROJECTION +
+            "where u.id = :userId and b.start > :currentTime " + AFTER_CURSOR)
+    List<BookingProjection> seekBookingByBookerIdAndStartIsAfter(@Param("userId") int userId,
+                                                                 @Param("currentTime") LocalDateTime currentTime,
+                                                                 @Param("cursorStart") LocalDateTime cursorStart,
+                                                                 @Param("cursorId") int cursorId,
+                                                                 Pageable pageable);
+
+    @Query(SELECT_PROJECTION +
+            "where u.id = :userId and b.status = :status " + AFTER_CURSOR)
+    List<BookingProjection> seekBookingByBookerIdAndStatus(@Param("userId") int userId,
+                                                           @Param("status") Status status,
+                                                           @Param("cursorStart") LocalDateTime cursorStart,
+                                                           @Param("cursorId") int cursorId,
+                                                           Pageable pageable);
+
+    @Query(SELECT_PROJECTION +
+            "where u.id = :userId " + AFTER_CURSOR)
+    List<BookingProjection> seekBookingByBookerId(@Param("userId") int userId,
+                                                  @Param("cursorStart") LocalDateTime cursorStart,
+                                                  @Param("cursorId") int cursorId,
+                                                  Pageable pageable);
+
+    @Query(SELECT_PROJECTION +
+            "where o.id = :userId and b.start < :currentTime and b.end > :currentTime " + AFTER_CURSOR)
+    List<BookingProjection> seekBookingByItemOwnerIdAndStartIsBeforeAndEndIsAfter(
+            @Param("userId") int userId,
+            @Param("currentTime") LocalDateTime currentTime,
+            @Param("cursorStart") LocalDateTime cursorStart,
+            @Param("cursorId") int cursorId,
+            Pageable pageable);
+
+    @Query(SELECT_PROJECTION +
+            "where o.id = :userId and b.end < :currentTime " + AFTER_CURSOR)
+    List<BookingProjection> seekBookingByItemOwnerIdAndEndIsBefore(@Param("userId") int userId,
+                                                                   @Param("currentTime") LocalDateTime currentTime,
+                                                                   @Param("cursorStart") LocalDateTime cursorStart,
+                                                                   @Param("cursorId") int cursorId,
+                                                                   Pageable pageable);
+
+    @Query(SELECT_PROJECTION +
+            "where o.id = :userId and b.start > :currentTime " + AFTER_CURSOR)
+    List<BookingProjection> seekBookingByItemOwnerIdAndStartIsAfter(@Param("userId") int userId,
+                                                                    @Param("currentTime") LocalDateTime currentTime,
+                                                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                                                    @Param("cursorId") int cursorId,
+                                                                    Pageable pageable);
+
+    @Query(SELECT_PROJECTION +
+            "where o.id = :userId and b.status = :status " + AFTER_CURSOR)
+    List<BookingProjection> seekBookingByItemOwnerIdAndStatus(@Param("userId") int userId,
+                                                              @Param("status") Status status,
+                                                              @Param("cursorStart") LocalDateTime cursorStart,
+                                                              @Param("cursorId") int cursorId,
+                                                              Pageable pageable);
+
+    @Query(SELECT_PROJECTION +
+            "where o.id = :userId " + AFTER_CURSOR)
+    List<BookingProjection> seekBookingByItemOwnerId(@Param("userId") int userId,
+                                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                                     @Param("cursorId") int cursorId,
+                                                     Pageable pageable);
+
+    /**
+     * Проверяет наличие бронирования вещи с одним из статусов, пересекающегося с интервалом [start, end).
+     */
+    @Query("select case when count(b) > 0 then true else false end from Booking b " +
+            "where b.item.id = :itemId and b.status in :statuses and b.start < :end and b.end > :start")
+    boolean existsOverlapping(@Param("itemId") int itemId,
+                              @Param("statuses") Collection<Status> statuses,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end);
+
+    /**
+     * Переводит бронирование из статуса expected в статус status одним запросом, увеличивая версию.
+     * Контекст персистентности очищается, чтобы загруженное ранее бронирование не было сохранено поверх.
+     * @return возвращает количество измененных бронирований: 0 если статус уже был изменен другим запросом.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id = :id and b.status = :expected")
+    int updateStatus(@Param("id") int id,
+                     @Param("expected") Status expected,
+                     @Param("status") Status status);
 
     Optional<Booking> findTopByItemIdAndStartIsBeforeAndStatus(int itemId,
                                                                LocalDateTime currentTime,
@@ -64,8 +220,28 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
                                                               Status status,
                                                               Sort sort);
 
+    @EntityGraph(attributePaths = "booker")
     Optional<Booking> findTopByItemIdAndBookerIdAndStatusAndEndIsBefore(int itemId,
                                                                         int bookerId,
                                                                         Status status,
                                                                         LocalDateTime currentTime);
+
+    /**
+     * Возвращает последнее и следующее бронирование с указанным статусом для каждой вещи из списка за один запрос.
+     * Последним считается бронирование с максимальным началом до currentTime, следующим - с минимальным после.
+     * При совпадении начала последним выбирается бронирование с большим id, следующим - с меньшим.
+     */
+    @Query("select b from Booking b " +
+            "join fetch b.booker " +
+            "where b.item.id in :itemIds " +
+            "and b.status = :status " +
+            "and ((b.start < :currentTime and not exists (select l from Booking l " +
+            "where l.item.id = b.item.id and l.status = :status and l.start < :currentTime " +
+            "and (l.start > b.start or (l.start = b.start and l.id > b.id)))) " +
+            "or (b.start > :currentTime and not exists (select n from Booking n " +
+            "where n.item.id = b.item.id and n.status = :status and n.start > :currentTime " +
+            "and (n.start < b.start or (n.start = b.start and n.id < b.id)))))")
+    List<Booking> findLastAndNextByItemIdIn(@Param("itemIds") Collection<Integer> itemIds,
+                                            @Param("currentTime") LocalDateTime currentTime,
+                                            @Param("status") Status status);
 }
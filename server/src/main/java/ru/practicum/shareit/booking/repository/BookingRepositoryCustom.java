@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.assistant.Status;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Операции хранилища {@link Booking}, реализованные напрямую через JDBC.
+ */
+public interface BookingRepositoryCustom {
+    /**
+     * Пакетно меняет статусы бронирований, находящихся в статусе expected, одним JDBC-пакетом
+     * условных обновлений. Каждое обновление увеличивает версию бронирования.
+     * Перед обновлением изменения контекста персистентности сбрасываются в базу, после - контекст очищается.
+     * @param statuses новые статусы по уникальным идентификаторам бронирований.
+     * @param expected статус, из которого допускается переход.
+     * @return возвращает уникальные идентификаторы бронирований, статус которых был изменен.
+     */
+    Set<Integer> updateStatuses(Map<Integer, Status> statuses, Status expected);
+
+    /**
+     * Пакетно записывает подтвержденные бронирования в сводки вещей: начавшиеся - последними, предстоящие -
+     * следующими. Каждый список записывается одним JDBC-пакетом условных обновлений с условиями
+     * {@link ItemBookingSummaryRepository#advanceLast} и {@link ItemBookingSummaryRepository#advanceNext}.
+     * Перед обновлением изменения контекста персистентности сбрасываются в базу, после - контекст очищается.
+     * @param lastBookings начавшиеся бронирования, не более одного на вещь.
+     * @param nextBookings предстоящие бронирования, не более одного на вещь.
+     */
+    void advanceSummaries(List<Booking> lastBookings, List<Booking> nextBookings);
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.assistant.Status;
+import ru.practicum.shareit.booking.model.Booking;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Реализация {@link BookingRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    private static final String UPDATE_STATUS = "update bookings set status = ?, version = version + 1 " +
+            "where id = ? and status = ?";
+    private static final String SELECT_STATUSES = "select id, status from bookings where id in (%s)";
+    private static final String ADVANCE_LAST = "update item_booking_summaries set last_booking_id = ?, " +
+            "last_booker_id = ?, last_start_date = ?, last_end_date = ?, version = version + 1 " +
+            "where item_id = ? and (last_start_date is null or last_start_date < ?)";
+    private static final String ADVANCE_NEXT = "update item_booking_summaries set next_booking_id = ?, " +
+            "next_booker_id = ?, next_start_date = ?, next_end_date = ?, version = version + 1 " +
+            "where item_id = ? and (next_start_date is null or next_start_date > ?)";
+    private final JdbcTemplate jdbcTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Set<Integer> updateStatuses(Map<Integer, Status> statuses, Status expected) {
+        List<Integer> bookingIds = new ArrayList<>(statuses.keySet());
+        entityManager.flush();
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_STATUS, bookingIds.stream()
+                .map(bookingId -> new Object[]{statuses.get(bookingId).name(), bookingId, expected.name()})
+                .collect(Collectors.toList()));
+        entityManager.clear();
+        Set<Integer> updated = new HashSet<>();
+        List<Integer> unknown = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                updated.add(bookingIds.get(i));
+            } else if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                unknown.add(bookingIds.get(i));
+            }
+        }
+        if (!unknown.isEmpty()) {
+            updated.addAll(reachedStatuses(unknown, statuses));
+        }
+        return updated;
+    }
+
+    /**
+     * Драйвер может не сообщать количество строк, измененных пакетом (например, PostgreSQL
+     * с reWriteBatchedInserts), поэтому такие бронирования перечитываются: обновленным считается
+     * бронирование, получившее новый статус.
+     */
+    private Set<Integer> reachedStatuses(List<Integer> bookingIds, Map<Integer, Status> statuses) {
+        String placeholders = String.join(", ", Collections.nCopies(bookingIds.size(), "?"));
+        return jdbcTemplate.query(String.format(SELECT_STATUSES, placeholders),
+                        (rs, rowNum) -> Map.entry(rs.getInt("id"), rs.getString("status")), bookingIds.toArray())
+                .stream()
+                .filter(row -> statuses.get(row.getKey()).name().equals(row.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void advanceSummaries(List<Booking> lastBookings, List<Booking> nextBookings) {
+        if (lastBookings.isEmpty() && nextBookings.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        advanceSummaries(ADVANCE_LAST, lastBookings);
+        advanceSummaries(ADVANCE_NEXT, nextBookings);
+        entityManager.clear();
+    }
+
+    private void advanceSummaries(String sql, List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, bookings.stream()
+                .map(booking -> new Object[]{booking.getId(), booking.getBooker().getId(),
+                        Timestamp.valueOf(booking.getStart()), Timestamp.valueOf(booking.getEnd()),
+                        booking.getItem().getId(), Timestamp.valueOf(booking.getStart())})
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Хранилище для {@link ItemBookingSummary}.
+ */
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Integer> {
+    /**
+     * Устаревшие сводки: начало следующего бронирования наступило не позднее currentTime.
+     */
+    List<ItemBookingSummary> findByNextStartLessThanEqual(LocalDateTime currentTime, Pageable pageable);
+
+    /**
+     * Записывает бронирование последним, если оно началось позже текущего последнего.
+     * @return возвращает количество измененных сводок: 0 если сводки нет или последнее бронирование позже.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ItemBookingSummary s " +
+            "set s.lastBookingId = :bookingId, s.lastBookerId = :bookerId, s.lastStart = :start, s.lastEnd = :end, " +
+            "s.version = s.version + 1 " +
+            "where s.itemId = :itemId and (s.lastStart is null or s.lastStart < :start)")
+    int advanceLast(@Param("itemId") int itemId,
+                    @Param("bookingId") int bookingId,
+                    @Param("bookerId") int bookerId,
+                    @Param("start") LocalDateTime start,
+                    @Param("end") LocalDateTime end);
+
+    /**
+     * Записывает бронирование следующим, если оно начинается раньше текущего следующего.
+     * @return возвращает количество измененных сводок: 0 если сводки нет или следующее бронирование раньше.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ItemBookingSummary s " +
+            "set s.nextBookingId = :bookingId, s.nextBookerId = :bookerId, s.nextStart = :start, s.nextEnd = :end, " +
+            "s.version = s.version + 1 " +
+            "where s.itemId = :itemId and (s.nextStart is null or s.nextStart > :start)")
+    int advanceNext(@Param("itemId") int itemId,
+                    @Param("bookingId") int bookingId,
+                    @Param("bookerId") int bookerId,
+                    @Param("start") LocalDateTime start,
+                    @Param("end") LocalDateTime end);
+
+    /**
+     * Помечает устаревшими сводки, в которых последнее или следующее бронирование оформлено пользователем.
+     * Бронирования удаляются вместе с пользователем каскадно базой данных, поэтому такие сводки
+     * читаются по бронированиям до ближайшего прохода обновления.
+     * @return возвращает количество помеченных сводок.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ItemBookingSummary s set s.nextStart = :currentTime, s.version = s.version + 1 " +
+            "where s.lastBookerId = :bookerId or s.nextBookerId = :bookerId")
+    int invalidateByBookerId(@Param("bookerId") int bookerId, @Param("currentTime") LocalDateTime currentTime);
+}
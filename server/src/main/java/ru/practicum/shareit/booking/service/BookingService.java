@@ -1,6 +1,9 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.assistant.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResultDto;
 
 import java.util.List;
 import ru.practicum.shareit.booking.model.Booking;
@@ -13,9 +16,15 @@ public interface BookingService {
 
     BookingDto statusAppropriator(int bookingId, boolean approve, int userId);
 
+    List<BookingStatusResultDto> statusAppropriatorAll(List<BookingStatusDto> statuses, int userId);
+
     BookingDto get(int bookingId, int userId);
 
     List<BookingDto> getAll(String param, int userId,int from, int size);
 
     List<BookingDto> getByUser(String param, int userId, int from, int size);
+
+    List<BookingDto> getAll(String param, int userId, BookingCursor cursor, int size);
+
+    List<BookingDto> getByUser(String param, int userId, BookingCursor cursor, int size);
 }
@@ -2,29 +2,41 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.assistant.BookingCursor;
 import ru.practicum.shareit.booking.assistant.State;
 import ru.practicum.shareit.booking.assistant.Status;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingProjection;
+import ru.practicum.shareit.booking.dto.BookingStatusDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResultDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.exception.model.ConflictException;
 import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.exception.model.ValidationException;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
-import javax.transaction.Transactional;
-
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.PageAppropriator.PageAppropriator.pageAppropriator;
@@ -37,10 +49,27 @@ import static ru.practicum.shareit.PageAppropriator.PageAppropriator.pageAppropr
 @Slf4j
 @Transactional
 public class BookingServiceImpl implements BookingService {
+    /**
+     * Порядок выдачи списков бронирований: по убыванию начала, при совпадении - по убыванию идентификатора.
+     */
+    private static final Sort BOOKING_ORDER = Sort.by(Sort.Direction.DESC, "start")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+    /**
+     * Статусы бронирований, занимающих вещь на время бронирования.
+     */
+    private static final List<Status> OCCUPYING_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+    /**
+     * Имя ограничения PostgreSQL, запрещающего пересечение занимающих вещь бронирований.
+     */
+    private static final String OVERLAP_CONSTRAINT = "excl_bookings_item_period";
     /**
      * Предоставляет доступ к хранилищу {@link Booking}.
      */
     private final BookingRepository bookingRepository;
+    /**
+     * Предоставляет доступ к хранилищу сводок последнего и следующего бронирования вещей.
+     */
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
     /**
      * Предоставляет доступ к хранилищу {@link Item}.
      */
@@ -62,6 +91,11 @@ public class BookingServiceImpl implements BookingService {
      * Метод регистрирует и сохраняет бронирование в {@link BookingRepository}.
      * Генерирует {@link ValidationException} если были нарушены требования.
      * Генерирует {@link NotFoundException} если сущность не была обнаружена.
+     * Генерирует {@link ConflictException} если вещь уже забронирована на пересекающийся интервал.
+     * Проверка пересечения выполняется под блокировкой строки вещи, поэтому одновременные бронирования
+     * одной вещи проверяются последовательно; в PostgreSQL пересечение дополнительно запрещено ограничением.
+     * В {@link ConflictException} преобразуется только нарушение этого ограничения, остальные ошибки целостности
+     * пробрасываются без изменений.
      * @param bookingDto DTO-объект бронирования.
      * @param userId уникальный идентификатор пользователя который осуществляет бронирование.
      * @return возвращает обработанный DTO-объект с присвоенным уникальным идентификатором.
@@ -88,15 +122,31 @@ public class BookingServiceImpl implements BookingService {
         bookingDto.setBooker(userRepository.findById(userId).stream()
                 .findFirst().orElseThrow(() -> new NotFoundException(String
                         .format("Пользователь c id: %d не обнаружен.", userId))));
+        itemRepository.lockById(bookingDto.getItemId());
+        if (bookingRepository.existsOverlapping(bookingDto.getItemId(), OCCUPYING_STATUSES,
+                bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new ConflictException("Вещь уже забронирована на это время.");
+        }
         bookingDto.setStatus(Status.WAITING);
-        log.info("Бронирование зарегистрировано.");
-        return bookingMapper.toBookingDto(bookingRepository.save(bookingMapper.toBooking(bookingDto)));
+        try {
+            Booking booking = bookingRepository.saveAndFlush(bookingMapper.toBooking(bookingDto));
+            log.info("Бронирование зарегистрировано.");
+            return bookingMapper.toBookingDto(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (overlapViolation(e)) {
+                throw new ConflictException("Вещь уже забронирована на это время.");
+            }
+            throw e;
+        }
     }
 
     /**
      * Метод обработки статуса бронирования владельцем вещи.
      * Генерирует {@link NotFoundException} если пользователь не обнаружен или вещи не принадлежит пользователю.
      * Генерирует {@link ValidationException} если бронирование было обработано ранее.
+     * Статус меняется условным обновлением из {@link Status#WAITING}, поэтому из одновременных запросов
+     * применяется только один, остальные получают {@link ConflictException}.
+     * Подтвержденное бронирование записывается в сводку бронирований вещи.
      * @param bookingId уникальный идентификатор вещи.
      * @param approve статус бронирования.
      * @param userId уникальный идентификатор владельца вещи.
@@ -106,34 +156,103 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public BookingDto statusAppropriator(int bookingId, boolean approve, int userId) {
         log.info("Поступил запрос на обработку статуса бронирования пользователем с id: {}.", userId);
-        return bookingRepository.findById(bookingId).stream()
-                .peek(booking -> {
-                    if (!userService.userChecker(userId)) {
-                        throw new NotFoundException(String.format("Пользователь c id: %d не обнаружен.", userId));
-                    } else if (booking.getItem().getOwner().getId() != userId) {
-                        throw new NotFoundException(String
-                                .format("Вещь с id: %d не принадлежит пользователю с id: %d.",
-                                        booking.getItem().getId(), userId));
-                    } else if (!booking.getStatus().equals(Status.WAITING)) {
-                        throw new ValidationException("Бронирование уже было обработано.");
-                    } else {
-                        booking.setStatus(approve ? Status.APPROVED : Status.REJECTED);
-                    }
-                }).peek(booking -> {
-                    if (booking.getStatus().equals(Status.REJECTED)) {
-                        log.info("В бронировании отказано.");
-                    } else if (booking.getStatus().equals(Status.APPROVED)) {
-                        log.info("Бронирование подтверждено.");
+        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> new NotFoundException(String
+                .format("Бронирование c id: %d не обнаружено.", bookingId)));
+        if (booking.getItem().getOwner().getId() != userId) {
+            requireUser(userId);
+            throw new NotFoundException(String.format("Вещь с id: %d не принадлежит пользователю с id: %d.",
+                    booking.getItem().getId(), userId));
+        } else if (!booking.getStatus().equals(Status.WAITING)) {
+            throw new ValidationException("Бронирование уже было обработано.");
+        }
+        Status status = approve ? Status.APPROVED : Status.REJECTED;
+        if (bookingRepository.updateStatus(bookingId, Status.WAITING, status) == 0) {
+            throw new ConflictException("Бронирование уже было обработано другим запросом.");
+        }
+        booking.setStatus(status);
+        booking.setVersion(booking.getVersion() + 1);
+        if (status.equals(Status.REJECTED)) {
+            log.info("В бронировании отказано.");
+        } else {
+            summarySetter(booking);
+            log.info("Бронирование подтверждено.");
+        }
+        return bookingMapper.toBookingDto(booking);
+    }
+
+    /**
+     * Метод пакетной обработки статусов бронирований владельцем вещей.
+     * Бронирования загружаются одним запросом вместе с проверкой принадлежности вещей пользователю,
+     * статусы меняются в одной транзакции одним пакетом условных обновлений из {@link Status#WAITING}.
+     * Результат возвращается для каждого элемента пакета в порядке следования.
+     * Генерирует {@link NotFoundException} если пользователь не обнаружен.
+     * @param statuses решения владельца по бронированиям.
+     * @param userId уникальный идентификатор владельца вещей.
+     * @return возвращает результаты обработки в формате {@link BookingStatusResultDto}.
+     */
+    @Override
+    @Transactional
+    public List<BookingStatusResultDto> statusAppropriatorAll(List<BookingStatusDto> statuses, int userId) {
+        log.info("Поступил запрос на пакетную обработку статусов бронирований пользователем с id: {}.", userId);
+        Map<Integer, Booking> bookings = bookingRepository.findByIdInAndItemOwnerId(statuses.stream()
+                        .map(BookingStatusDto::getBookingId)
+                        .collect(Collectors.toSet()), userId).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        if (bookings.isEmpty()) {
+            requireUser(userId);
+        }
+        Map<Integer, Status> transitions = new LinkedHashMap<>();
+        statuses.stream()
+                .filter(statusDto -> bookings.containsKey(statusDto.getBookingId()))
+                .filter(statusDto -> bookings.get(statusDto.getBookingId()).getStatus().equals(Status.WAITING))
+                .forEach(statusDto -> transitions.putIfAbsent(statusDto.getBookingId(),
+                        statusDto.isApproved() ? Status.APPROVED : Status.REJECTED));
+        Set<Integer> updated = transitions.isEmpty() ? Set.of()
+                : bookingRepository.updateStatuses(transitions, Status.WAITING);
+        updated.forEach(bookingId -> {
+            Booking booking = bookings.get(bookingId);
+            booking.setStatus(transitions.get(bookingId));
+            booking.setVersion(booking.getVersion() + 1);
+        });
+        summarySetter(updated.stream()
+                .map(bookings::get)
+                .filter(booking -> booking.getStatus().equals(Status.APPROVED))
+                .collect(Collectors.toList()));
+        log.info("Пакетно обработано бронирований: {} из {}.", updated.size(), statuses.size());
+        Set<Integer> answered = new HashSet<>();
+        return statuses.stream()
+                .map(statusDto -> {
+                    int bookingId = statusDto.getBookingId();
+                    BookingStatusResultDto.BookingStatusResultDtoBuilder result = BookingStatusResultDto.builder()
+                            .bookingId(bookingId);
+                    if (!bookings.containsKey(bookingId)) {
+                        return result.result(BookingStatusResultDto.Result.NOT_FOUND)
+                                .error(String.format("Бронирование c id: %d не обнаружено среди бронирований " +
+                                        "вещей пользователя с id: %d.", bookingId, userId))
+                                .build();
+                    } else if (!answered.add(bookingId)) {
+                        return result.result(BookingStatusResultDto.Result.ALREADY_PROCESSED)
+                                .error("Бронирование указано в пакете повторно.")
+                                .build();
+                    } else if (updated.contains(bookingId)) {
+                        return result.result(BookingStatusResultDto.Result.UPDATED)
+                                .booking(bookingMapper.toBookingDto(bookings.get(bookingId)))
+                                .build();
+                    } else if (transitions.containsKey(bookingId)) {
+                        return result.result(BookingStatusResultDto.Result.CONFLICT)
+                                .error("Бронирование уже было обработано другим запросом.")
+                                .build();
                     }
+                    return result.result(BookingStatusResultDto.Result.ALREADY_PROCESSED)
+                            .error("Бронирование уже было обработано.")
+                            .build();
                 })
-                .map(bookingMapper::toBookingDto)
-                .findFirst()
-                .orElseThrow(() -> new NotFoundException(String
-                        .format("Бронирование c id: %d не обнаружено.", bookingId)));
+                .collect(Collectors.toList());
     }
 
     /**
      * Метод предоставления данные о бронировании для владельца вещи или для пользователя осуществившего бронирование.
+     * Наличие пользователя подтверждается участием в бронировании и проверяется отдельно только при ошибке.
      * Генерирует {@link NotFoundException} если не обнаружено бронирование или пользователь,
      * или если пользователь не является автором бронирования или владельцем вещи.
      * @param bookingId уникальный идентификатор бронирования.
@@ -141,15 +260,14 @@ public class BookingServiceImpl implements BookingService {
      * @return возвращает DTO-объект бронирования.
      */
     @Override
+    @Transactional(readOnly = true)
     public BookingDto get(int bookingId, int userId) {
         log.info("Поступил запрос на предоставление данных о бронировании пользователем с id: {}", userId);
-        if (!userService.userChecker(userId)) {
-            throw new NotFoundException(String.format("Пользователь c id: %d не обнаружен.", userId));
-        }
         return bookingRepository.findById(bookingId).stream()
                 .peek(booking -> {
                     if (booking.getBooker().getId() != userId
                             && booking.getItem().getOwner().getId() != userId) {
+                        requireUser(userId);
                         throw new NotFoundException(String.format("Пользователь с id: %d не является автором " +
                                 "бронирования или владельцем вещи.", userId));
                     }
@@ -157,12 +275,15 @@ public class BookingServiceImpl implements BookingService {
                 })
                 .map(bookingMapper::toBookingDto)
                 .findFirst()
-                .orElseThrow(() -> new NotFoundException(String
-                        .format("Бронирование с id: %d не обнаружено.", bookingId)));
+                .orElseThrow(() -> {
+                    requireUser(userId);
+                    return new NotFoundException(String.format("Бронирование с id: %d не обнаружено.", bookingId));
+                });
     }
 
     /**
      * Метод предоставления списка бронирований по параметру. По умолчанию предоставляет все вещи.
+     * Наличие пользователя проверяется отдельным запросом только если бронирований не найдено.
      * Генерирует {@link NotFoundException} если пользователь не был обнаружен.
      * Возвращает результат постранично.
      * @param from индекс первого элемента.
@@ -172,39 +293,89 @@ public class BookingServiceImpl implements BookingService {
      * @return возвращает список бронирований.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDto> getAll(String param, int userId, int from, int size) {
         log.info("Поступил запрос на предоставление всех бронирований " +
                 "пользователя c id: {} по параметру: {}", userId, param);
-        if (!userService.userChecker(userId)) {
-            throw new NotFoundException(String.format("Пользователь c id: %d не обнаружен.", userId));
-        } else {
-            Pageable pageable = PageRequest.of(pageAppropriator(from, size), size,
-                    Sort.by(Sort.Direction.DESC, "start"));
-            LocalDateTime currentTime = LocalDateTime.now();
-            switch (State.valueOf(param)) {
-                case CURRENT:
-                    return converter(bookingRepository.findBookingByBookerIdAndStartIsBeforeAndEndIsAfter(userId,
-                            currentTime, currentTime, pageable));
-                case PAST:
-                    return converter(bookingRepository.findBookingByBookerIdAndEndIsBefore(userId,
-                            currentTime, pageable));
-                case FUTURE:
-                    return converter(bookingRepository.findBookingByBookerIdAndStartIsAfter(userId,
-                            currentTime, pageable));
-                case WAITING:
-                    return converter(bookingRepository.findBookingByBookerIdAndStatus(userId,
-                            Status.WAITING, pageable));
-                case REJECTED:
-                    return converter(bookingRepository.findBookingByBookerIdAndStatus(userId,
-                            Status.REJECTED, pageable));
-                default:
-                    return converter(bookingRepository.findBookingByBookerId(userId, pageable));
-            }
+        Pageable pageable = PageRequest.of(pageAppropriator(from, size), size, BOOKING_ORDER);
+        LocalDateTime currentTime = LocalDateTime.now();
+        List<BookingProjection> bookings;
+        switch (State.valueOf(param)) {
+            case CURRENT:
+                bookings = bookingRepository.findBookingByBookerIdAndStartIsBeforeAndEndIsAfter(userId,
+                        currentTime, pageable);
+                break;
+            case PAST:
+                bookings = bookingRepository.findBookingByBookerIdAndEndIsBefore(userId,
+                        currentTime, pageable);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findBookingByBookerIdAndStartIsAfter(userId,
+                        currentTime, pageable);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findBookingByBookerIdAndStatus(userId,
+                        Status.WAITING, pageable);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.findBookingByBookerIdAndStatus(userId,
+                        Status.REJECTED, pageable);
+                break;
+            default:
+                bookings = bookingRepository.findBookingByBookerId(userId, pageable);
+        }
+        return converter(requireUserIfEmpty(bookings, userId));
+    }
+
+    /**
+     * Метод предоставления списка бронирований по параметру, следующих за курсором.
+     * Наличие пользователя проверяется отдельным запросом только если бронирований не найдено.
+     * Генерирует {@link NotFoundException} если пользователь не был обнаружен.
+     * @param param переданный параметр-статус.
+     * @param userId уникальный идентификатор пользователя.
+     * @param cursor курсор последнего бронирования предыдущей страницы.
+     * @param size количество элементов для отображения.
+     * @return возвращает список бронирований.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAll(String param, int userId, BookingCursor cursor, int size) {
+        log.info("Поступил запрос на предоставление бронирований " +
+                "пользователя c id: {} по параметру: {} после курсора", userId, param);
+        Pageable pageable = PageRequest.of(0, size, BOOKING_ORDER);
+        LocalDateTime currentTime = LocalDateTime.now();
+        List<BookingProjection> bookings;
+        switch (State.valueOf(param)) {
+            case CURRENT:
+                bookings = bookingRepository.seekBookingByBookerIdAndStartIsBeforeAndEndIsAfter(userId,
+                        currentTime, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            case PAST:
+                bookings = bookingRepository.seekBookingByBookerIdAndEndIsBefore(userId,
+                        currentTime, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.seekBookingByBookerIdAndStartIsAfter(userId,
+                        currentTime, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            case WAITING:
+                bookings = bookingRepository.seekBookingByBookerIdAndStatus(userId,
+                        Status.WAITING, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.seekBookingByBookerIdAndStatus(userId,
+                        Status.REJECTED, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            default:
+                bookings = bookingRepository.seekBookingByBookerId(userId,
+                        cursor.getStart(), cursor.getId(), pageable);
         }
+        return converter(requireUserIfEmpty(bookings, userId));
     }
 
     /**
      * Метод предоставления списка бронирований по параметру для владельца вещи. По умолчания предоставляет все вещи.
+     * Наличие пользователя проверяется отдельным запросом только если бронирований не найдено.
      * Генерирует {@link NotFoundException} если пользователь не был обнаружен.
      * @param from индекс первого элемента.
      * @param size количество элементов для отображения.
@@ -213,44 +384,169 @@ public class BookingServiceImpl implements BookingService {
      * @return возвращает список бронирований.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDto> getByUser(String param, int userId, int from, int size) {
         log.info("Поступил запрос на предоставление всех бронирований " +
                 "для владельца c id: {} по параметру: {}", userId, param);
+        Pageable pageable = PageRequest.of(pageAppropriator(from, size), size, BOOKING_ORDER);
+        LocalDateTime currentTime = LocalDateTime.now();
+        List<BookingProjection> bookings;
+        switch (State.valueOf(param)) {
+            case CURRENT:
+                bookings = bookingRepository.findBookingByItemOwnerIdAndStartIsBeforeAndEndIsAfter(userId,
+                        currentTime, pageable);
+                break;
+            case PAST:
+                bookings = bookingRepository.findBookingByItemOwnerIdAndEndIsBefore(userId,
+                        currentTime, pageable);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findBookingByItemOwnerIdAndStartIsAfter(userId,
+                        currentTime, pageable);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findBookingByItemOwnerIdAndStatus(userId,
+                        Status.WAITING, pageable);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.findBookingByItemOwnerIdAndStatus(userId,
+                        Status.REJECTED, pageable);
+                break;
+            default:
+                bookings = bookingRepository.findBookingByItemOwnerId(userId, pageable);
+        }
+        return converter(requireUserIfEmpty(bookings, userId));
+    }
+
+    /**
+     * Метод предоставления списка бронирований по параметру для владельца вещи, следующих за курсором.
+     * Наличие пользователя проверяется отдельным запросом только если бронирований не найдено.
+     * Генерирует {@link NotFoundException} если пользователь не был обнаружен.
+     * @param param переданный параметр-статус.
+     * @param userId уникальный идентификатор пользователя.
+     * @param cursor курсор последнего бронирования предыдущей страницы.
+     * @param size количество элементов для отображения.
+     * @return возвращает список бронирований.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getByUser(String param, int userId, BookingCursor cursor, int size) {
+        log.info("Поступил запрос на предоставление бронирований " +
+                "для владельца c id: {} по параметру: {} после курсора", userId, param);
+        Pageable pageable = PageRequest.of(0, size, BOOKING_ORDER);
+        LocalDateTime currentTime = LocalDateTime.now();
+        List<BookingProjection> bookings;
+        switch (State.valueOf(param)) {
+            case CURRENT:
+                bookings = bookingRepository.seekBookingByItemOwnerIdAndStartIsBeforeAndEndIsAfter(userId,
+                        currentTime, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            case PAST:
+                bookings = bookingRepository.seekBookingByItemOwnerIdAndEndIsBefore(userId,
+                        currentTime, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.seekBookingByItemOwnerIdAndStartIsAfter(userId,
+                        currentTime, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            case WAITING:
+                bookings = bookingRepository.seekBookingByItemOwnerIdAndStatus(userId,
+                        Status.WAITING, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.seekBookingByItemOwnerIdAndStatus(userId,
+                        Status.REJECTED, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            default:
+                bookings = bookingRepository.seekBookingByItemOwnerId(userId,
+                        cursor.getStart(), cursor.getId(), pageable);
+        }
+        return converter(requireUserIfEmpty(bookings, userId));
+    }
+
+    /**
+     * Записывает подтвержденное бронирование в сводку вещи последним или следующим в зависимости от начала.
+     * Сводка изменяется условным обновлением, поэтому одновременные подтверждения не затирают друг друга.
+     * @param booking подтвержденное бронирование.
+     */
+    private void summarySetter(Booking booking) {
+        if (booking.getStart().isAfter(LocalDateTime.now())) {
+            itemBookingSummaryRepository.advanceNext(booking.getItem().getId(), booking.getId(),
+                    booking.getBooker().getId(), booking.getStart(), booking.getEnd());
+        } else {
+            itemBookingSummaryRepository.advanceLast(booking.getItem().getId(), booking.getId(),
+                    booking.getBooker().getId(), booking.getStart(), booking.getEnd());
+        }
+    }
+
+    /**
+     * Записывает подтвержденные бронирования в сводки вещей.
+     * Для каждой вещи в сводку передаются только самое позднее начавшееся и самое раннее предстоящее бронирование,
+     * сводки всех вещей обновляются пакетно.
+     * @param bookings подтвержденные бронирования.
+     */
+    private void summarySetter(List<Booking> bookings) {
+        LocalDateTime currentTime = LocalDateTime.now();
+        Collection<List<Booking>> itemBookings = bookings.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()))
+                .values();
+        bookingRepository.advanceSummaries(itemBookings.stream()
+                        .flatMap(bookingsOfItem -> bookingsOfItem.stream()
+                                .filter(booking -> !booking.getStart().isAfter(currentTime))
+                                .max(Comparator.comparing(Booking::getStart))
+                                .stream())
+                        .collect(Collectors.toList()),
+                itemBookings.stream()
+                        .flatMap(bookingsOfItem -> bookingsOfItem.stream()
+                                .filter(booking -> booking.getStart().isAfter(currentTime))
+                                .min(Comparator.comparing(Booking::getStart))
+                                .stream())
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Проверка наличия пользователя на пути ошибки: пустой список, отобранный по пользователю,
+     * не отличает пользователя без бронирований от отсутствующего.
+     * Генерирует {@link NotFoundException} если пользователь не обнаружен.
+     * @param bookings результат основного запроса.
+     * @param userId уникальный идентификатор пользователя.
+     * @return возвращает переданный список.
+     */
+    private List<BookingProjection> requireUserIfEmpty(List<BookingProjection> bookings, int userId) {
+        if (bookings.isEmpty()) {
+            requireUser(userId);
+        }
+        return bookings;
+    }
+
+    /**
+     * Генерирует {@link NotFoundException} если пользователь не обнаружен.
+     * @param userId уникальный идентификатор пользователя.
+     */
+    private void requireUser(int userId) {
         if (!userService.userChecker(userId)) {
             throw new NotFoundException(String.format("Пользователь c id: %d не обнаружен.", userId));
-        } else {
-            Pageable pageable = PageRequest.of(pageAppropriator(from, size), size,
-                    Sort.by(Sort.Direction.DESC, "start"));
-            LocalDateTime currentTime = LocalDateTime.now();
-            switch (State.valueOf(param)) {
-                case CURRENT:
-                    return converter(bookingRepository.findBookingByItemOwnerIdAndStartIsBeforeAndEndIsAfter(userId,
-                            currentTime, currentTime, pageable));
-                case PAST:
-                    return converter(bookingRepository.findBookingByItemOwnerIdAndEndIsBefore(userId,
-                            currentTime, pageable));
-                case FUTURE:
-                    return converter(bookingRepository.findBookingByItemOwnerIdAndStartIsAfter(userId,
-                            currentTime, pageable));
-                case WAITING:
-                    return converter(bookingRepository.findBookingByItemOwnerIdAndStatus(userId,
-                            Status.WAITING, pageable));
-                case REJECTED:
-                    return converter(bookingRepository.findBookingByItemOwnerIdAndStatus(userId,
-                            Status.REJECTED, pageable));
-                default:
-                    return converter(bookingRepository.findBookingByItemOwnerId(userId, pageable));
-            }
         }
     }
 
     /**
-     * Метод сортировки и конвертирования списка бронирований в DTO-объекты.
-     * @param page итоговая страница бронирований.
-     * @return возвращает отсортированный и конвертированный список.
+     * Метод проверки, вызвана ли ошибка целостности нарушением ограничения {@value #OVERLAP_CONSTRAINT}.
+     * PostgreSQL указывает имя нарушенного ограничения в сообщении исходной ошибки.
+     * @param e ошибка целостности данных.
+     * @return возвращает True - если нарушено ограничение пересечения бронирований, иначе False.
+     */
+    private static boolean overlapViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(OVERLAP_CONSTRAINT);
+    }
+
+    /**
+     * Метод конвертирования списка бронирований в DTO-объекты.
+     * @param bookings итоговый список бронирований.
+     * @return возвращает конвертированный список.
      */
-    private List<BookingDto> converter(Page<Booking> page) {
-        return page.stream()
+    private List<BookingDto> converter(List<BookingProjection> bookings) {
+        return bookings.stream()
                 .map(bookingMapper::toBookingDto)
                 .collect(Collectors.toList());
     }
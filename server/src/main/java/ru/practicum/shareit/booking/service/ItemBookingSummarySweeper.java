@@ -0,0 +1,125 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.assistant.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Периодически обновляет устаревшие сводки {@link ItemBookingSummary}: когда начало следующего бронирования
+ * наступает, последнее и следующее бронирование вещи вычисляются заново по подтвержденным бронированиям.
+ * Период задается свойством shareit.booking.summary.sweep-interval, размер пакета -
+ * shareit.booking.summary.sweep-batch-size. До обновления сводки вещи читаются по бронированиям.
+ */
+@Component
+@Slf4j
+public class ItemBookingSummarySweeper {
+    /**
+     * Предоставляет доступ к хранилищу для {@link ItemBookingSummary}.
+     */
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    /**
+     * Предоставляет доступ к хранилищу для {@link Booking}.
+     */
+    private final BookingRepository bookingRepository;
+    /**
+     * Каждый пакет сводок обновляется в отдельной транзакции.
+     */
+    private final TransactionTemplate transactionTemplate;
+    /**
+     * Количество сводок, обновляемых в одной транзакции.
+     */
+    private final int batchSize;
+
+    public ItemBookingSummarySweeper(ItemBookingSummaryRepository itemBookingSummaryRepository,
+                                     BookingRepository bookingRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${shareit.booking.summary.sweep-batch-size:500}") int batchSize) {
+        this.itemBookingSummaryRepository = itemBookingSummaryRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.summary.sweep-interval:PT1M}",
+            initialDelayString = "${shareit.booking.summary.sweep-interval:PT1M}")
+    public void sweep() {
+        sweep(LocalDateTime.now());
+    }
+
+    /**
+     * Обновляет пакетами все сводки, устаревшие к моменту currentTime.
+     * Если сводку одновременно изменило подтверждение бронирования, пакет откатывается
+     * и обновляется при следующем проходе.
+     * @param currentTime момент, относительно которого определяются последнее и следующее бронирование.
+     * @return возвращает количество обновленных сводок.
+     */
+    public int sweep(LocalDateTime currentTime) {
+        int swept = 0;
+        try {
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> sweepBatch(currentTime));
+                swept += batch;
+            } while (batch == batchSize);
+        } catch (OptimisticLockingFailureException e) {
+            log.info("Сводка бронирований изменена другим запросом, обновление отложено до следующего прохода.");
+        }
+        if (swept > 0) {
+            log.info("Обновлено сводок бронирований: {}.", swept);
+        }
+        return swept;
+    }
+
+    private int sweepBatch(LocalDateTime currentTime) {
+        List<ItemBookingSummary> summaries = itemBookingSummaryRepository
+                .findByNextStartLessThanEqual(currentTime, PageRequest.of(0, batchSize));
+        if (summaries.isEmpty()) {
+            return 0;
+        }
+        Map<Integer, ItemBookingSummary> summariesByItemId = summaries.stream()
+                .peek(summary -> {
+                    lastSetter(summary, null);
+                    nextSetter(summary, null);
+                })
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        bookingRepository.findLastAndNextByItemIdIn(summariesByItemId.keySet(), currentTime, Status.APPROVED)
+                .forEach(booking -> {
+                    ItemBookingSummary summary = summariesByItemId.get(booking.getItem().getId());
+                    if (booking.getStart().isBefore(currentTime)) {
+                        lastSetter(summary, booking);
+                    } else {
+                        nextSetter(summary, booking);
+                    }
+                });
+        return summaries.size();
+    }
+
+    private static void lastSetter(ItemBookingSummary summary, Booking booking) {
+        summary.setLastBookingId(booking == null ? null : booking.getId());
+        summary.setLastBookerId(booking == null ? null : booking.getBooker().getId());
+        summary.setLastStart(booking == null ? null : booking.getStart());
+        summary.setLastEnd(booking == null ? null : booking.getEnd());
+    }
+
+    private static void nextSetter(ItemBookingSummary summary, Booking booking) {
+        summary.setNextBookingId(booking == null ? null : booking.getId());
+        summary.setNextBookerId(booking == null ? null : booking.getBooker().getId());
+        summary.setNextStart(booking == null ? null : booking.getStart());
+        summary.setNextEnd(booking == null ? null : booking.getEnd());
+    }
+}
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.comment.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.comment.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -10,4 +13,10 @@ import java.util.List;
  */
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
     List<Comment> findByItemId(int itemId);
+
+    @Query("select c from Comment c " +
+            "join fetch c.author " +
+            "where c.item.id in :itemIds " +
+            "order by c.created")
+    List<Comment> findByItemIdIn(@Param("itemIds") Collection<Integer> itemIds);
 }
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Источник данных, направляющий транзакции только для чтения на реплику, а остальные обращения - на основную базу.
+ * Соединение должно запрашиваться после начала транзакции, поэтому источник используется
+ * за {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ * Для чтения собственных изменений пользователь, зафиксировавший пишущую транзакцию, в течение окна
+ * readYourWritesWindow читает с основной базы: за это время реплика успевает получить изменения.
+ * Пользователь определяется по {@link RequestUserContext}; запросы без пользователя отслеживаются как один общий.
+ * Записи учитываются только на этом экземпляре сервера, поэтому при нескольких экземплярах чтение собственных
+ * изменений обеспечивается, только если балансировщик закрепляет пользователя за экземпляром по X-Sharer-User-Id.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    /**
+     * Ключ записей, выполненных без пользователя.
+     */
+    private static final int ANONYMOUS = 0;
+    /**
+     * Наибольшее количество одновременно отслеживаемых пользователей.
+     */
+    private static final long MAX_TRACKED_WRITERS = 100_000;
+    /**
+     * Пользователи, зафиксировавшие пишущую транзакцию в течение окна; записи удаляются по истечении окна.
+     */
+    private final Cache<Integer, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(MAX_TRACKED_WRITERS)
+                .build();
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+        int writer = Objects.requireNonNullElse(RequestUserContext.get(), ANONYMOUS);
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(writer, Boolean.TRUE);
+                    }
+                });
+            }
+            return Route.PRIMARY;
+        }
+        return recentWriters.getIfPresent(writer) != null ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    /**
+     * Ключи источников данных.
+     */
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+}
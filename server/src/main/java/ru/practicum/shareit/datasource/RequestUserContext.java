@@ -0,0 +1,27 @@
+package ru.practicum.shareit.datasource;
+
+/**
+ * Пользователь текущего запроса из заголовка X-Sharer-User-Id, по которому
+ * {@link ReplicaRoutingDataSource} отслеживает чтение собственных изменений.
+ */
+public final class RequestUserContext {
+    private static final ThreadLocal<Integer> USER_ID = new ThreadLocal<>();
+
+    private RequestUserContext() {
+    }
+
+    public static void set(Integer userId) {
+        USER_ID.set(userId);
+    }
+
+    /**
+     * @return возвращает уникальный идентификатор пользователя или null, если запрос выполняется без пользователя.
+     */
+    public static Integer get() {
+        return USER_ID.get();
+    }
+
+    public static void clear() {
+        USER_ID.remove();
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static ru.practicum.shareit.item.controller.ItemController.USER_ID;
+
+/**
+ * Запоминает пользователя запроса в {@link RequestUserContext} на время обработки запроса.
+ * Нечисловой заголовок обрабатывается как запрос без пользователя, его отклонят контроллеры.
+ */
+public class RequestUserFilter extends OncePerRequestFilter {
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestUserContext.set(parse(request.getHeader(USER_ID)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestUserContext.clear();
+        }
+    }
+
+    private static Integer parse(String userId) {
+        if (userId == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(userId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
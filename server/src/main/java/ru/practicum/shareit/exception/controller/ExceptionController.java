@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception.controller;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -69,6 +70,20 @@ public class ExceptionController {
 				.build();
 	}
 
+	/**
+	 * Отлавливает ошибку {@link OptimisticLockingFailureException}: сущность изменена параллельным запросом.
+	 * @return возвращает сведения об ошибке.
+	 */
+	@ExceptionHandler
+	@ResponseStatus(HttpStatus.CONFLICT)
+	public ErrorResponse optimisticLockingFailure(final OptimisticLockingFailureException exception) {
+		log.info("Конфликт параллельного изменения. {}", exception.getMessage());
+		return ErrorResponse.builder()
+				.actionError("Конфликт запроса.")
+				.description("Данные были изменены другим запросом, повторите запрос.")
+				.build();
+	}
+
 	/**
 	 * Отлавливает ошибку {@link javax.validation.ValidationException}.
 	 * @return возвращает сведения об ошибке.
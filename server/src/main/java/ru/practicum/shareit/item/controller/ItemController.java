@@ -38,6 +38,16 @@ public class ItemController {
         return itemService.add(itemDto, userId);
     }
 
+    /**
+     * Обрабатывает запрос на пакетную регистрацию и добавление.
+     */
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<ItemDtoIncreasedConfidential> addAll(@RequestBody List<ItemDto> itemDtos,
+                                                     @RequestHeader(USER_ID) int userId) {
+        return itemService.addAll(itemDtos, userId);
+    }
+
     /**
      * Обрабатывает запрос на обновление данных.
      */
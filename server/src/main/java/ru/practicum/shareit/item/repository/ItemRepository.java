@@ -1,24 +1,77 @@
 package ru.practicum.shareit.item.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.IndexedItem;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Хранилище для {@link Item}.
  */
 public interface ItemRepository extends JpaRepository<Item, Integer> {
+    @Override
+    @EntityGraph(attributePaths = {"owner", "request.requestor"})
+    Optional<Item> findById(Integer id);
+
+    /**
+     * Поиск вещи с проверкой наличия запрашивающего пользователя в том же запросе.
+     * Пустой результат означает, что не обнаружена вещь или пользователь.
+     */
+    @Query("select i from Item i " +
+            "where i.id = :id " +
+            "and exists (select u.id from User u where u.id = :userId)")
+    @EntityGraph(attributePaths = {"owner", "request.requestor"})
+    Optional<Item> findByIdForUser(@Param("id") int id, @Param("userId") int userId);
+
+    /**
+     * Блокирует строку вещи до конца транзакции.
+     * Используется для последовательной проверки пересечения бронирований одной вещи.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = :id")
+    Optional<Item> lockById(@Param("id") int id);
+
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    List<Item> findAllById(Iterable<Integer> ids);
+
+    @EntityGraph(attributePaths = "owner")
     List<Item> findItemByOwnerId(int id, Pageable pageable);
 
+    /**
+     * Уникальные идентификаторы вещей владельца без загрузки самих вещей.
+     */
+    @Query("select i.id from Item i where i.owner.id = :ownerId")
+    List<Integer> findIdsByOwnerId(@Param("ownerId") int ownerId);
+
+    /**
+     * Поиск доступных для аренды вещей по вхождению текста в название или описание.
+     * Вещи, в названии которых найден текст, выдаются раньше вещей, найденных только по описанию.
+     * В PostgreSQL условие обслуживается триграммными индексами из миграции V3__add_trigram_indexes.sql.
+     */
     @Query("select i from Item i " +
-            "where upper(i.name) like upper(concat('%', :text, '%')) " +
-            "or upper(i.description) like upper(concat('%', :text, '%'))")
-    Page<Item> search(@Param("text") String text, Pageable pageable);
+            "where i.available = true " +
+            "and (upper(i.name) like upper(concat('%', :text, '%')) " +
+            "or upper(i.description) like upper(concat('%', :text, '%'))) " +
+            "order by case when upper(i.name) like upper(concat('%', :text, '%')) then 0 else 1 end, i.id")
+    @EntityGraph(attributePaths = "owner")
+    List<Item> search(@Param("text") String text, Pageable pageable);
 
     List<Item> findByRequestId(int requestId);
+
+    List<Item> findByRequestIdIn(Collection<Integer> requestIds);
+
+    @Query("select i.id as id, i.name as name, i.description as description, i.owner.id as ownerId " +
+            "from Item i " +
+            "where i.available = true")
+    List<IndexedItem> findIndexedItems();
 }
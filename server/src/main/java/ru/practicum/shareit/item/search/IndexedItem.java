@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Проекция {@link Item}, содержащая только данные необходимые для построения {@link ItemSearchIndex}.
+ */
+public interface IndexedItem {
+    int getId();
+
+    String getName();
+
+    String getDescription();
+
+    int getOwnerId();
+}
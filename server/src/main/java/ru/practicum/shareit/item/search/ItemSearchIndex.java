@@ -0,0 +1,362 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Встроенный инвертированный индекс для поиска доступных для аренды {@link Item}.
+ * Включается свойством shareit.item.search.engine=memory, по умолчанию поиск выполняется в базе данных.
+ * Ключами индекса служат триграммы названия и описания вещи в верхнем регистре,
+ * значениями - отсортированные массивы уникальных идентификаторов вещей.
+ * Кандидаты, полученные пересечением списков, проверяются на вхождение подстроки,
+ * поэтому результат совпадает с результатом {@link ItemRepository#search}.
+ */
+@Component
+@Slf4j
+public class ItemSearchIndex {
+    /**
+     * Значение свойства shareit.item.search.engine, включающее поиск по индексу.
+     */
+    public static final String MEMORY_ENGINE = "memory";
+    /**
+     * Длина n-граммы, по которой строится индекс.
+     */
+    private static final int GRAM_LENGTH = 3;
+    /**
+     * Предоставляет доступ к хранилищу для {@link Item}.
+     */
+    private final ItemRepository itemRepository;
+    /**
+     * Признак того, что индекс включен в настройках приложения.
+     */
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /**
+     * Списки идентификаторов вещей по триграммам.
+     */
+    private final Map<String, PostingList> postings = new HashMap<>();
+    /**
+     * Нормализованные данные проиндексированных вещей по уникальному идентификатору.
+     */
+    private final Map<Integer, Document> documents = new HashMap<>();
+    /**
+     * Признак того, что индекс построен и может обслуживать поисковые запросы.
+     */
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.item.search.engine:sql}") String engine) {
+        this.itemRepository = itemRepository;
+        this.enabled = MEMORY_ENGINE.equals(engine);
+    }
+
+    /**
+     * Строит индекс по всем доступным для аренды вещам после запуска приложения.
+     * Изменения, зафиксированные во время построения, применяются после его завершения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        log.info("Поступил запрос на построение поискового индекса вещей.");
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            itemRepository.findIndexedItems().forEach(item -> put(item.getId(), item.getName(),
+                    item.getDescription(), item.getOwnerId()));
+            ready = true;
+            log.info("Поисковый индекс построен, проиндексировано вещей: {}.", documents.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return возвращает True - если индекс построен и может заменить поиск в базе данных.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Добавляет или обновляет вещь в индексе. Недоступные для аренды вещи из индекса удаляются.
+     * Внутри транзакции изменение применяется только после ее успешной фиксации.
+     * @param item сохраненная вещь.
+     */
+    public void index(Item item) {
+        if (!enabled) {
+            return;
+        }
+        int id = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        int ownerId = item.getOwner().getId();
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(id);
+                if (available) {
+                    put(id, name, description, ownerId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Добавляет или обновляет в индексе список вещей за одну блокировку.
+     * Внутри транзакции изменения применяются только после ее успешной фиксации.
+     * @param items сохраненные вещи.
+     */
+    public void indexAll(List<Item> items) {
+        if (!enabled) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>();
+        Map<Integer, Document> added = new HashMap<>();
+        for (Item item : items) {
+            ids.add(item.getId());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                added.put(item.getId(), new Document(normalize(item.getName()), normalize(item.getDescription()),
+                        item.getOwner().getId()));
+            }
+        }
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                ids.forEach(this::remove);
+                added.forEach(this::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Удаляет из индекса все вещи пользователя.
+     * @param ownerId уникальный идентификатор владельца вещей.
+     */
+    public void removeByOwner(int ownerId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                documents.entrySet().stream()
+                        .filter(entry -> entry.getValue().ownerId == ownerId)
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toList())
+                        .forEach(this::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Поиск доступных для аренды вещей по вхождению текста в название или описание.
+     * Вещи, в названии которых найден текст, выдаются раньше вещей, найденных только по описанию,
+     * внутри каждой группы - по возрастанию уникального идентификатора.
+     * @param text   поисковый запрос.
+     * @param offset количество пропускаемых результатов.
+     * @param size   количество результатов на странице.
+     * @return возвращает список уникальных идентификаторов найденных вещей.
+     */
+    public List<Integer> search(String text, int offset, int size) {
+        String query = normalize(text);
+        int limit = offset + size;
+        List<Integer> nameMatches = new ArrayList<>();
+        List<Integer> descriptionMatches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int id : candidates(query)) {
+                Document document = documents.get(id);
+                if (document.name.contains(query)) {
+                    nameMatches.add(id);
+                    if (nameMatches.size() == limit) {
+                        break;
+                    }
+                } else if (descriptionMatches.size() < limit && document.description.contains(query)) {
+                    descriptionMatches.add(id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        nameMatches.addAll(descriptionMatches);
+        if (offset >= nameMatches.size()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(nameMatches.subList(offset, Math.min(limit, nameMatches.size())));
+    }
+
+    /**
+     * Возвращает отсортированный массив вещей, содержащих все триграммы запроса.
+     * Для запросов короче триграммы кандидатами считаются все проиндексированные вещи.
+     */
+    private int[] candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return documents.keySet().stream()
+                    .mapToInt(Integer::intValue)
+                    .sorted()
+                    .toArray();
+        }
+        List<PostingList> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        int[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).retain(result);
+        }
+        return result;
+    }
+
+    private void put(int id, String name, String description, int ownerId) {
+        put(id, new Document(normalize(name), normalize(description), ownerId));
+    }
+
+    private void put(int id, Document document) {
+        documents.put(id, document);
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+        }
+    }
+
+    private void remove(int id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String gram : document.grams()) {
+            PostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(id);
+                if (list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Нормализованные данные проиндексированной вещи.
+     */
+    private static class Document {
+        private final String name;
+        private final String description;
+        private final int ownerId;
+
+        private Document(String name, String description, int ownerId) {
+            this.name = name;
+            this.description = description;
+            this.ownerId = ownerId;
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = ItemSearchIndex.grams(name);
+            grams.addAll(ItemSearchIndex.grams(description));
+            return grams;
+        }
+    }
+
+    /**
+     * Отсортированный по возрастанию список уникальных идентификаторов вещей на примитивном массиве.
+     */
+    private static class PostingList {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private void remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+
+        /**
+         * Возвращает элементы отсортированного массива candidates, присутствующие в списке.
+         */
+        private int[] retain(int[] candidates) {
+            int[] result = new int[candidates.length];
+            int count = 0;
+            for (int id : candidates) {
+                if (Arrays.binarySearch(ids, 0, size, id) >= 0) {
+                    result[count++] = id;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+}
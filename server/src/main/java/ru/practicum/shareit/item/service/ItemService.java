@@ -14,6 +14,8 @@ import java.util.List;
 public interface ItemService {
     ItemDtoIncreasedConfidential add(ItemDto itemDto, int userId);
 
+    List<ItemDtoIncreasedConfidential> addAll(List<ItemDto> itemDtos, int userId);
+
     ItemDtoIncreasedConfidential update(ItemDto itemDto, int itemId, int userId);
 
     ItemDtoIncreasedConfidential getById(int itemId, int userId);
@@ -5,13 +5,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoIncreasedConfidential;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.booking.assistant.Status;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CommentDtoIncreasedConfidential;
 import ru.practicum.shareit.comment.mapper.CommentMapper;
@@ -20,18 +23,24 @@ import ru.practicum.shareit.exception.model.ForbiddenException;
 import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.exception.model.ValidationException;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.PageAppropriator.PageAppropriator.pageAppropriator;
@@ -52,10 +61,18 @@ public class ItemServiceImpl implements ItemService {
      * Предоставляет доступ к сервису для работы с {@link User}.
      */
     private final UserService userService;
+    /**
+     * Предоставляет доступ к хранилищу для {@link User}.
+     */
+    private final UserRepository userRepository;
     /**
      * Предоставляет доступ к хранилищу для {@link Booking}
      */
     private final BookingRepository bookingRepository;
+    /**
+     * Предоставляет доступ к хранилищу для {@link ItemBookingSummary}.
+     */
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
     /**
      * Предоставляет доступ к хранилищу для {@link Comment}.
      */
@@ -64,11 +81,14 @@ public class ItemServiceImpl implements ItemService {
      * Предоставляет доступ к хранилищу для {@link ItemRequest}.
      */
     private final ItemRequestRepository itemRequestRepository;
+    /**
+     * Встроенный поисковый индекс вещей, используется вместо поиска в базе данных если включен.
+     */
+    private final ItemSearchIndex itemSearchIndex;
     /**
      * Список мапперов для конвертирования сущностей.
      */
     private final ItemMapper itemMapper;
-    private final UserMapper userMapper;
     private final CommentMapper commentMapper;
     private final BookingMapper bookingMapper;
 
@@ -77,6 +97,8 @@ public class ItemServiceImpl implements ItemService {
      * Проверяет входящие данные пользователя.
      * Генерирует {@link NotFoundException} если владелец не обнаружен в системе.
      * Конвертирует входящие данные в {@link Item}.
+     * Вещь записывается до своей {@link ItemBookingSummary}: сводка ссылается на вещь только идентификатором,
+     * и упорядочивание пакетных вставок не учитывает эту зависимость.
      * @param itemDto dto-объект вещи которую добавляет пользователь.
      * @param userId  уникальный идентификатор пользователя.
      * @return возвращает вещь в формате {@link ItemDtoIncreasedConfidential} с приобретенным уникальным идентификатором.
@@ -85,23 +107,64 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     public ItemDtoIncreasedConfidential add(ItemDto itemDto, int userId) {
         log.info("Поступил запрос на регистрацию и добавление вещи.");
-        if (userService.userChecker(userId).equals(false)) {
-            throw new NotFoundException("Пользователь не обнаружен.");
-        } else {
-            itemDto.setOwner(userMapper.toUser(userService.get(userId)));
-            if (itemDto.getRequestId() != 0) {
-                itemDto.setRequest(itemRequestRepository.findById(itemDto.getRequestId())
-                        .orElseThrow(() -> new NotFoundException(String.format("Запрос с id: %d не обнаружен.",
-                                itemDto.getRequestId()))));
-            }
-            log.info("Вещь успешно зарегистрирована и добавлена");
-            return itemMapper.toItemDtoIncreasedConfidential(itemRepository.save(itemMapper.toItem(itemDto)));
+        itemDto.setOwner(userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь не обнаружен.")));
+        if (itemDto.getRequestId() != 0) {
+            itemDto.setRequest(itemRequestRepository.findById(itemDto.getRequestId())
+                    .orElseThrow(() -> new NotFoundException(String.format("Запрос с id: %d не обнаружен.",
+                            itemDto.getRequestId()))));
         }
+        Item item = itemRepository.saveAndFlush(itemMapper.toItem(itemDto));
+        itemBookingSummaryRepository.save(ItemBookingSummary.builder().itemId(item.getId()).build());
+        itemSearchIndex.index(item);
+        log.info("Вещь успешно зарегистрирована и добавлена");
+        return itemMapper.toItemDtoIncreasedConfidential(item);
+    }
+
+    /**
+     * Сервисный метод пакетной регистрации вещей одного владельца.
+     * Запросы, по которым создаются вещи, загружаются одним запросом, а вещи сохраняются пакетными вставками.
+     * Вещи записываются до своих сводок бронирований, как и при добавлении одной вещи.
+     * Генерирует {@link NotFoundException} если владелец или один из запросов не обнаружены в системе.
+     * @param itemDtos список dto-объектов вещей которые добавляет пользователь.
+     * @param userId   уникальный идентификатор пользователя.
+     * @return возвращает вещи в формате {@link ItemDtoIncreasedConfidential} с приобретенными идентификаторами.
+     */
+    @Override
+    public List<ItemDtoIncreasedConfidential> addAll(List<ItemDto> itemDtos, int userId) {
+        log.info("Поступил запрос на пакетную регистрацию вещей пользователем с id: {}.", userId);
+        User owner = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь не обнаружен."));
+        Map<Integer, ItemRequest> requests = itemRequestRepository.findAllById(itemDtos.stream()
+                        .map(ItemDto::getRequestId)
+                        .filter(requestId -> requestId != 0)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        List<Item> items = itemDtos.stream()
+                .map(itemDto -> {
+                    itemDto.setOwner(owner);
+                    if (itemDto.getRequestId() != 0) {
+                        itemDto.setRequest(Optional.ofNullable(requests.get(itemDto.getRequestId()))
+                                .orElseThrow(() -> new NotFoundException(String.format("Запрос с id: %d не обнаружен.",
+                                        itemDto.getRequestId()))));
+                    }
+                    return itemMapper.toItem(itemDto);
+                })
+                .collect(Collectors.toList());
+        items = itemRepository.saveAllAndFlush(items);
+        itemBookingSummaryRepository.saveAll(items.stream()
+                .map(item -> ItemBookingSummary.builder().itemId(item.getId()).build())
+                .collect(Collectors.toList()));
+        itemSearchIndex.indexAll(items);
+        log.info("Пакетно зарегистрировано вещей: {}.", items.size());
+        return items.stream()
+                .map(itemMapper::toItemDtoIncreasedConfidential)
+                .collect(Collectors.toList());
     }
 
     /**
      * Сервисный метод обновления вещи конкретного пользователя.
-     * Проводит проверку на наличие пользователя в системе.
+     * Наличие пользователя подтверждается владением вещью и проверяется отдельно только при ошибке.
      * Генерирует {@link ValidationException} если данные указаны некорректно или вещи не была зарегистрирована.
      * Генерирует {@link NotFoundException} если пользователь или вещь не обнаружены в системе.
      * Генерирует {@link ForbiddenException} если вещи не принадлежит пользователю.
@@ -116,12 +179,11 @@ public class ItemServiceImpl implements ItemService {
         if ((itemDto.getName() != null && itemDto.getName().isBlank())
                 || (itemDto.getDescription() != null && itemDto.getDescription().isBlank())) {
             throw new ValidationException("Некорректно указаны данные.");
-        } else if (userService.userChecker(userId).equals(false)) {
-            throw new NotFoundException(String.format("Пользователь c id: %d не обнаружен.", userId));
         }
         return itemRepository.findById(itemId).stream()
                 .peek(item -> {
                     if (item.getOwner().getId() != userId) {
+                        requireUser(userId);
                         throw new ForbiddenException(String
                                 .format("Вещь c id: %d не принадлежит пользователю с id: %d.", itemId, userId));
                     } else {
@@ -134,13 +196,16 @@ public class ItemServiceImpl implements ItemService {
                         if (itemDto.getAvailable() != null) {
                             item.setAvailable(itemDto.getAvailable());
                         }
-                        itemRepository.save(item);
+                        itemSearchIndex.index(itemRepository.save(item));
                         log.info("Вещь пользователя с id: {} успешно обновлена.", userId);
                     }
                 })
                 .map(itemMapper::toItemDtoIncreasedConfidential)
                 .findFirst()
-                .orElseThrow(() -> new NotFoundException(String.format("Вещь c id %d не обнаружена.", itemId)));
+                .orElseThrow(() -> {
+                    requireUser(userId);
+                    return new NotFoundException(String.format("Вещь c id %d не обнаружена.", itemId));
+                });
     }
 
     /**
@@ -149,31 +214,32 @@ public class ItemServiceImpl implements ItemService {
      * 1) Предоставление данных для владельца вещи.
      * 2) Предоставления данных для остальных пользователей.
      * Владельцу предоставляются данные о прошлых и ближайших бронированиях.
+     * Наличие пользователя проверяется в том же запросе, что и загрузка вещи.
      * Генерирует {@link NotFoundException} если вещь или пользователь не обнаружены в системе.
      * @param itemId уникальный идентификатор вещи.
      * @param userId уникальный идентификатор пользователя.
      * @return возвращает вещь в формате {@link ItemDtoIncreasedConfidential} в случае если такова имеется.
      */
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public ItemDtoIncreasedConfidential getById(int itemId, int userId) {
         log.info("Поступил запрос пользователя с id: {} на поиск вещи c id: {}.", userId, itemId);
-        if (!userService.userChecker(userId)) {
-            throw new NotFoundException(String.format("Пользователь c id: %d не обнаружен.", userId));
-        }
-        return itemRepository.findById(itemId).stream()
+        return itemRepository.findByIdForUser(itemId, userId).stream()
                 .map(itemMapper::toItemDtoIncreasedConfidential)
                 .peek(itemDto -> {
                     if (itemDto.getOwner().getId() == userId) {
-                        bookingSetter(itemDto);
+                        bookingSetter(List.of(itemDto));
                         log.info("Вещь с id: {} успешно предоставлена владельцу.", itemId);
                     } else {
                         log.info("Вещь с id: {} успешно предоставлена пользователю с id: {}.", itemId, userId);
                     }
                 })
-                .map(this::commentSetter)
+                .peek(itemDto -> commentSetter(List.of(itemDto)))
                 .findFirst()
-                .orElseThrow(() -> new NotFoundException(String.format("Вещь c id %d не обнаружена.", itemId)));
+                .orElseThrow(() -> {
+                    requireUser(userId);
+                    return new NotFoundException(String.format("Вещь c id %d не обнаружена.", itemId));
+                });
     }
 
     /**
@@ -187,6 +253,7 @@ public class ItemServiceImpl implements ItemService {
      * подходящих под поисковый запрос в формате {@link ItemDtoIncreasedConfidential}.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDtoIncreasedConfidential> search(String text, int userId, int from, int size) {
         log.info("Поступил запрос на поиск вещей по запросу пользователем с id: {}.", userId);
         if (!userService.userChecker(userId)) {
@@ -194,10 +261,18 @@ public class ItemServiceImpl implements ItemService {
         }
         if (text.isBlank()) {
             return Collections.emptyList();
+        } else if (itemSearchIndex.isReady()) {
+            List<Integer> ids = itemSearchIndex.search(text, pageAppropriator(from, size) * size, size);
+            Map<Integer, Item> items = itemRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            return ids.stream()
+                    .filter(items::containsKey)
+                    .map(items::get)
+                    .map(itemMapper::toItemDtoIncreasedConfidential)
+                    .collect(Collectors.toList());
         } else {
             return itemRepository.search(text, PageRequest.of(pageAppropriator(from, size), size))
                     .stream()
-                    .filter(item -> item.getAvailable().equals(true))
                     .map(itemMapper::toItemDtoIncreasedConfidential)
                     .collect(Collectors.toList());
         }
@@ -205,6 +280,7 @@ public class ItemServiceImpl implements ItemService {
 
     /**
      * Сервисный метод поиска и предоставления всех вещей пользователя постранично.
+     * Наличие пользователя проверяется отдельным запросом только если у него не найдено вещей.
      * Генерирует {@link NotFoundException} если пользователь не был найден.
      * @param from индекс первого элемента.
      * @param size количество элементов для отображения.
@@ -212,49 +288,76 @@ public class ItemServiceImpl implements ItemService {
      * @return возвращает список вещей в формате {@link ItemDtoIncreasedConfidential}
      */
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<ItemDtoIncreasedConfidential> getAll(int userId, int from, int size) {
         log.info("Поступил запрос на предоставление вещей пользователя с id: {}.", userId);
-        if (!userService.userChecker(userId)) {
-            throw new NotFoundException(String.format("Пользователь c id: %d не обнаружен.", userId));
-        }
-        return itemRepository.findItemByOwnerId(userId, PageRequest.of(pageAppropriator(from, size), size,
-                        Sort.by(Sort.Direction.ASC, "id")))
+        List<ItemDtoIncreasedConfidential> items = itemRepository.findItemByOwnerId(userId,
+                        PageRequest.of(pageAppropriator(from, size), size, Sort.by(Sort.Direction.ASC, "id")))
                 .stream()
                 .map(itemMapper::toItemDtoIncreasedConfidential)
-                .map(this::bookingSetter)
-                .map(this::commentSetter)
                 .collect(Collectors.toList());
+        if (items.isEmpty()) {
+            requireUser(userId);
+        }
+        return commentSetter(bookingSetter(items));
     }
 
     /**
      * Метод проверки наличия вещи в хранилище.
+     * Вещь загружается по уникальному идентификатору, поэтому проверка обслуживается кэшем второго уровня.
      * @param itemId уникальный идентификатор вещи.
      * @return возвращает булевой ответ True - если найдена, False - если не найдена.
      */
     @Override
     public boolean itemChecker(int itemId) {
-        return itemRepository.existsById(itemId);
+        return itemRepository.findById(itemId).isPresent();
     }
 
     /**
-     * Сервисный метод поиска и присвоения последнего и следующего бронирования вещи.
-     * @param itemDto DTO-объект вещи для которой осуществляется присвоение данных.
-     * @return возвращает DTO-объект вещи с присвоенными данными.
+     * Сервисный метод поиска и присвоения последнего и следующего бронирования вещам.
+     * Бронирования берутся из сводок {@link ItemBookingSummary}, которые обновляются при подтверждении бронирований.
+     * Для вещей без сводки или с устаревшей сводкой бронирования запрашиваются одним запросом.
+     * @param items список DTO-объектов вещей для которых осуществляется присвоение данных.
+     * @return возвращает список DTO-объектов вещей с присвоенными данными.
      */
-    private ItemDtoIncreasedConfidential bookingSetter(ItemDtoIncreasedConfidential itemDto) {
-        bookingRepository.findTopByItemIdAndStartIsBeforeAndStatus(itemDto.getId(),
-                LocalDateTime.now(), Status.APPROVED,
-                Sort.by(Sort.Direction.DESC, "start"))
-                .ifPresent(booking -> itemDto.setLastBooking(bookingMapper.toBookingDtoIncreasedConfidential(booking)));
-        bookingRepository.findTopByItemIdAndStartIsAfterAndStatus(itemDto.getId(),
-                LocalDateTime.now(), Status.APPROVED, Sort.by("start"))
-                .ifPresent(booking -> itemDto.setNextBooking(bookingMapper.toBookingDtoIncreasedConfidential(booking)));
-        return itemDto;
+    private List<ItemDtoIncreasedConfidential> bookingSetter(List<ItemDtoIncreasedConfidential> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        LocalDateTime currentTime = LocalDateTime.now();
+        Map<Integer, ItemDtoIncreasedConfidential> itemsById = items.stream()
+                .collect(Collectors.toMap(ItemDtoIncreasedConfidential::getId, Function.identity()));
+        Set<Integer> unresolvedItemIds = new HashSet<>(itemsById.keySet());
+        itemBookingSummaryRepository.findAllById(itemsById.keySet()).stream()
+                .filter(summary -> summary.getNextStart() == null || summary.getNextStart().isAfter(currentTime))
+                .forEach(summary -> {
+                    ItemDtoIncreasedConfidential itemDto = itemsById.get(summary.getItemId());
+                    if (summary.getLastBookingId() != null) {
+                        itemDto.setLastBooking(bookingMapper.toLastBookingDto(summary));
+                    }
+                    if (summary.getNextBookingId() != null) {
+                        itemDto.setNextBooking(bookingMapper.toNextBookingDto(summary));
+                    }
+                    unresolvedItemIds.remove(summary.getItemId());
+                });
+        if (unresolvedItemIds.isEmpty()) {
+            return items;
+        }
+        bookingRepository.findLastAndNextByItemIdIn(unresolvedItemIds, currentTime, Status.APPROVED)
+                .forEach(booking -> {
+                    ItemDtoIncreasedConfidential itemDto = itemsById.get(booking.getItem().getId());
+                    if (booking.getStart().isBefore(currentTime)) {
+                        itemDto.setLastBooking(bookingMapper.toBookingDtoIncreasedConfidential(booking));
+                    } else {
+                        itemDto.setNextBooking(bookingMapper.toBookingDtoIncreasedConfidential(booking));
+                    }
+                });
+        return items;
     }
 
     /**
      * Сервисный метод добавления комментария.
+     * Наличие вещи и пользователя проверяется только если завершенное бронирование вещи пользователем не найдено.
      * Генерирует {@link NotFoundException} если пользователь или вещь не были обнаружены.
      * Генерирует {@link ValidationException} если пользователь не брал вещь в аренду.
      * @param itemId уникальный идентификатор вещи.
@@ -266,35 +369,57 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     public CommentDtoIncreasedConfidential addComment(int itemId, int userId, CommentDto commentDto) {
         log.info("Поступил запрос на добавление комментария пользователем с id: {} к вещи с id: {}", userId, itemId);
-        if (!itemChecker(itemId)) {
-            throw new NotFoundException(String.format("Вещь c id: %d не обнаружена.", itemId));
-        } else if (!userService.userChecker(userId)) {
+        bookingRepository.findTopByItemIdAndBookerIdAndStatusAndEndIsBefore(itemId, userId, Status.APPROVED,
+                        LocalDateTime.now()).stream()
+                .peek(booking -> {
+                    commentDto.setItem(booking.getItem());
+                    commentDto.setAuthor(booking.getBooker());
+                    commentDto.setCreated(LocalDateTime.now());
+                })
+                .findFirst()
+                .orElseThrow(() -> {
+                    if (!itemChecker(itemId)) {
+                        return new NotFoundException(String.format("Вещь c id: %d не обнаружена.", itemId));
+                    }
+                    requireUser(userId);
+                    return new ValidationException(String
+                            .format("Пользователь с id: %d не брал в аренду вещь с id: %d", userId, itemId));
+                });
+        log.info("Комментарий успешно добавлен пользователем с id: {}", userId);
+        return commentMapper.toCommentDtoIncreasedConfidential(commentRepository
+                .save(commentMapper.toComment(commentDto)));
+    }
+
+    /**
+     * Проверка наличия пользователя на пути ошибки, когда основной запрос не вернул данных.
+     * Генерирует {@link NotFoundException} если пользователь не обнаружен.
+     * @param userId уникальный идентификатор пользователя.
+     */
+    private void requireUser(int userId) {
+        if (!userService.userChecker(userId)) {
             throw new NotFoundException(String.format("Пользователь c id: %d не обнаружен.", userId));
-        } else {
-            bookingRepository.findTopByItemIdAndBookerIdAndStatusAndEndIsBefore(itemId, userId, Status.APPROVED,
-                            LocalDateTime.now()).stream()
-                    .peek(booking -> {
-                        commentDto.setItem(booking.getItem());
-                        commentDto.setAuthor(booking.getBooker());
-                        commentDto.setCreated(LocalDateTime.now());
-                        log.info("Комментарий успешно добавлен пользователем с id: {}", userId);
-                    }).findFirst().orElseThrow(() -> new ValidationException(String
-                            .format("Пользователь с id: %d не брал в аренду вещь с id: %d", userId, itemId)));
-            log.info("Комментарий успешно добавлен пользователем с id: {}", userId);
-            return commentMapper.toCommentDtoIncreasedConfidential(commentRepository
-                    .save(commentMapper.toComment(commentDto)));
         }
     }
 
     /**
      * Сервисный метод поиска и присвоения данных о комментариях.
-     * @param itemDto DTO-объект вещи.
-     * @return возвращает обработанный DTO-объект вещи.
+     * Комментарии для всех вещей списка запрашиваются одним запросом и группируются по вещам в памяти.
+     * @param items список DTO-объектов вещей.
+     * @return возвращает список обработанных DTO-объектов вещей.
      */
-    private ItemDtoIncreasedConfidential commentSetter(ItemDtoIncreasedConfidential itemDto) {
-        itemDto.setComments(commentRepository.findByItemId(itemDto.getId()).stream()
-                .map(commentMapper::toCommentDtoIncreasedConfidential)
-                .collect(Collectors.toList()));
-        return itemDto;
+    private List<ItemDtoIncreasedConfidential> commentSetter(List<ItemDtoIncreasedConfidential> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        Map<Integer, List<CommentDtoIncreasedConfidential>> commentsByItemId = commentRepository
+                .findByItemIdIn(items.stream()
+                        .map(ItemDtoIncreasedConfidential::getId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::toCommentDtoIncreasedConfidential, Collectors.toList())));
+        items.forEach(itemDto -> itemDto.setComments(commentsByItemId
+                .getOrDefault(itemDto.getId(), new ArrayList<>())));
+        return items;
     }
 }
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Фильтр Logback, пропускающий каждое rate-е событие уровня INFO из логгеров с префиксами loggers.
+ * События считаются отдельно для каждого шаблона сообщения, поэтому первое событие каждого вида всегда
+ * попадает в журнал, а частые события прореживаются. События других уровней и логгеров не фильтруются.
+ * Настраивается в logback-spring.xml свойствами loggers (префиксы через запятую) и rate.
+ */
+public class InfoSamplingFilter extends Filter<ILoggingEvent> {
+    /**
+     * Счетчики событий по шаблону сообщения.
+     */
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private List<String> loggers = List.of();
+    private int rate = 1;
+
+    public void setLoggers(String loggers) {
+        this.loggers = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(logger -> !logger.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (rate <= 1 || event.getLevel() != Level.INFO || loggers.stream()
+                .noneMatch(logger -> event.getLoggerName().startsWith(logger))) {
+            return FilterReply.NEUTRAL;
+        }
+        long count = counters.computeIfAbsent(event.getLoggerName() + ':' + event.getMessage(),
+                key -> new AtomicLong()).getAndIncrement();
+        return count % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.assistant.State;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.model.ConflictException;
+import ru.practicum.shareit.exception.model.ForbiddenException;
+import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.exception.model.ValidationException;
+
+/**
+ * Измеряет время выполнения публичных методов сервисов и записывает его в таймер {@value #METRIC_NAME}.
+ * Таймер размечается именем сервиса и метода, параметром-статусом списка бронирований и результатом вызова,
+ * количество вызовов с каждым результатом доступно как счетчик таймера.
+ * Выполняется раньше транзакционного перехватчика, поэтому в измерение входит фиксация транзакции.
+ * Запросы к хранилищам измеряются Spring Data в таймере spring.data.repository.invocations.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    /**
+     * Имя таймера вызовов сервисов.
+     */
+    public static final String METRIC_NAME = "shareit.service";
+    /**
+     * Значение метки state для методов без параметра-статуса.
+     */
+    private static final String NO_STATE = "none";
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * ru.practicum.shareit.booking.service.BookingService+.*(..)) " +
+            "|| execution(public * ru.practicum.shareit.item.service.ItemService+.*(..)) " +
+            "|| execution(public * ru.practicum.shareit.request.service.ItemRequestService+.*(..)) " +
+            "|| execution(public * ru.practicum.shareit.user.service.UserService+.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Время выполнения методов сервисов")
+                    .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("state", state(joinPoint))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Возвращает параметр-статус списка бронирований, переданный первым аргументом методов {@link BookingService}.
+     * Неизвестные значения объединяются в UNKNOWN, чтобы количество таймеров оставалось ограниченным.
+     */
+    private static String state(ProceedingJoinPoint joinPoint) {
+        Object[] args = joinPoint.getArgs();
+        if (!(joinPoint.getTarget() instanceof BookingService) || args.length == 0 || !(args[0] instanceof String)) {
+            return NO_STATE;
+        }
+        try {
+            return State.valueOf((String) args[0]).name();
+        } catch (IllegalArgumentException e) {
+            return "UNKNOWN";
+        }
+    }
+
+    private static String outcome(Throwable e) {
+        if (e instanceof NotFoundException) {
+            return "not_found";
+        } else if (e instanceof ValidationException || e instanceof javax.validation.ValidationException) {
+            return "validation_error";
+        } else if (e instanceof ConflictException) {
+            return "conflict";
+        } else if (e instanceof ForbiddenException) {
+            return "forbidden";
+        }
+        return "error";
+    }
+}
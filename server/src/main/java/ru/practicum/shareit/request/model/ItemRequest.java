@@ -1,9 +1,12 @@
 package ru.practicum.shareit.request.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
@@ -14,6 +17,7 @@ import java.time.LocalDateTime;
  * Класс, отвечающий за запрос вещи.
  */
 @Data
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
@@ -24,7 +28,8 @@ public class ItemRequest {
      * Уникальный идентификатор запроса.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     private int id;
     /**
      * Текст запроса, содержащий описание требуемой вещи.
@@ -34,8 +39,10 @@ public class ItemRequest {
     /**
      * Пользователь, создавший запрос.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requestor_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User requestor;
     /**
      * Дата и время создания запроса.
@@ -1,20 +1,45 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Хранилище для {@link ItemRequest}.
  */
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Integer> {
+    @Override
+    @EntityGraph(attributePaths = "requestor")
+    Optional<ItemRequest> findById(Integer id);
+
+    /**
+     * Поиск запроса с проверкой наличия запрашивающего пользователя в том же запросе.
+     * Пустой результат означает, что не обнаружен запрос или пользователь.
+     */
+    @Query("select r from ItemRequest r " +
+            "where r.id = :id " +
+            "and exists (select u.id from User u where u.id = :userId)")
+    @EntityGraph(attributePaths = "requestor")
+    Optional<ItemRequest> findByIdForUser(@Param("id") int id, @Param("userId") int userId);
+
+    @EntityGraph(attributePaths = "requestor")
     List<ItemRequest> findByRequestorId(int userId,
                                         Sort sort);
 
-    Page<ItemRequest> findAllByRequestorIdNot(int userId,
+    /**
+     * Запросы других пользователей. Пустой результат, если запрашивающий пользователь не обнаружен.
+     */
+    @Query("select r from ItemRequest r " +
+            "where r.requestor.id <> :userId " +
+            "and exists (select u.id from User u where u.id = :userId)")
+    @EntityGraph(attributePaths = "requestor")
+    List<ItemRequest> findAllByRequestorIdNot(@Param("userId") int userId,
                                               Pageable pageable);
 }
@@ -5,10 +5,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.exception.model.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDtoForRequest;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
@@ -18,9 +20,10 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.PageAppropriator.PageAppropriator.pageAppropriator;
@@ -76,31 +79,30 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     /**
      * Сервисный метод предоставляет список запросов на аренду конкретного пользователя.
      * Обогащает DTO-объекты данными об ответах на запрос.
+     * Наличие пользователя проверяется отдельным запросом только если запросов не найдено.
      * Генерирует {@link NotFoundException} если пользователь не был обнаружен.
      * @param userId уникальный идентификатор пользователя для которого осуществляется предоставление данных.
      * @return возвращает список запросов в формате {@link ItemRequestDto}.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> get(int userId) {
         log.info("Поступил запрос на предоставления списка запросов для пользователя с id: {}.", userId);
-        if (!userService.userChecker(userId)) {
-            throw new NotFoundException(String.format("Пользователь с id: %d не найден.", userId));
-        } else {
-            log.info("Список запросов успешно предоставлен пользователю с id {}", userId);
-            return itemRequestRepository.findByRequestorId(userId, Sort.by(Sort.Direction.DESC, "created"))
-                    .stream()
-                    .map(itemRequestMapper::toItemRequestDto)
-                    .peek(itemRequestDto -> itemRequestDto
-                            .setItems(itemRepository.findByRequestId(itemRequestDto.getId()).stream()
-                                    .map(itemMapper::toItemDtoForRequest)
-                                    .collect(Collectors.toList())))
-                    .collect(Collectors.toList());
+        List<ItemRequest> requests = itemRequestRepository
+                .findByRequestorId(userId, Sort.by(Sort.Direction.DESC, "created"));
+        if (requests.isEmpty()) {
+            requireUser(userId);
         }
+        log.info("Список запросов успешно предоставлен пользователю с id {}", userId);
+        return itemsSetter(requests.stream()
+                .map(itemRequestMapper::toItemRequestDto)
+                .collect(Collectors.toList()));
     }
 
     /**
      * Сервисный метод для получения списка запросов пользователей.
      * Предоставление списка осуществляется постранично.
+     * Наличие пользователя проверяется в том же запросе, а отдельно - только при пустом результате.
      * Генерирует {@link NotFoundException} если пользователь не обнаружен.
      * Генерирует {@link ValidationException} если значение from отрицательное или если size меньше 1.
      * @param from индекс первого элемента.
@@ -109,51 +111,78 @@ public class ItemRequestServiceImpl implements ItemRequestService {
      * @return возвращает список запросов пользователей в формате {@link ItemRequestDto}.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAll(int from, int size, int userId) {
         log.info("Поступил запрос на предоставление списка запросов пользователей.");
-        log.info("Список запросов пользователей успешно предоставлен.");
-        if (!userService.userChecker(userId)) {
-            throw new NotFoundException(String.format("Пользователь с id: %d не найден.", userId));
+        List<ItemRequest> requests = itemRequestRepository.findAllByRequestorIdNot(userId,
+                PageRequest.of(pageAppropriator(from, size), size, Sort.by(Sort.Direction.DESC, "created")));
+        if (requests.isEmpty()) {
+            requireUser(userId);
         }
-        return itemRequestRepository.findAllByRequestorIdNot(userId, PageRequest.of(pageAppropriator(from, size), size,
-                        Sort.by(Sort.Direction.DESC, "created")))
-                .stream()
+        log.info("Список запросов пользователей успешно предоставлен.");
+        return itemsSetter(requests.stream()
                 .map(itemRequestMapper::toItemRequestDto)
-                .peek(itemRequestDto -> itemRequestDto
-                        .setItems(itemRepository.findByRequestId(itemRequestDto.getId())
-                                .stream()
-                                .map(itemMapper::toItemDtoForRequest)
-                                .collect(Collectors.toList()))).collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
      * Сервисный метод для получения запроса по уникальному идентификатору.
+     * Наличие пользователя проверяется в том же запросе, что и загрузка запроса.
      * Генерирует {@link NotFoundException} если пользователь или запрос не найдены.
      * @param requestId уникальный идентификатор запроса по которому осуществляется поиск.
      * @param userId уникальный пользователь для которого осуществляется поиск.
      * @return возвращает список запросов в формате {@link ItemRequestDto}.
      */
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto getById(int requestId, int userId) {
         log.info("Поступил запрос на предоставление запроса по уникальному идентификатору.");
-        if (!userService.userChecker(userId)) {
-            throw new NotFoundException(String.format("Пользователь с id: %d не найден.", userId));
-        } else {
-            return itemRequestRepository.findById(requestId)
-                    .stream()
-                    .map(itemRequestMapper::toItemRequestDto)
-                    .peek(itemRequestDto -> itemRequestDto.setItems(itemRepository.findByRequestId(requestId)
-                            .stream()
-                            .map(itemMapper::toItemDtoForRequest)
-                            .collect(Collectors.toList())))
-                    .findFirst()
-                    .orElseThrow(() -> new NotFoundException(String
-                            .format("Запрос с id: %d не найден.", requestId)));
-        }
+        return itemRequestRepository.findByIdForUser(requestId, userId)
+                .stream()
+                .map(itemRequestMapper::toItemRequestDto)
+                .peek(itemRequestDto -> itemsSetter(List.of(itemRequestDto)))
+                .findFirst()
+                .orElseThrow(() -> {
+                    requireUser(userId);
+                    return new NotFoundException(String.format("Запрос с id: %d не найден.", requestId));
+                });
     }
 
     @Override
     public Boolean itemRequestChecker(int requestId) {
         return itemRequestRepository.existsById(requestId);
     }
+
+    /**
+     * Проверка наличия пользователя на пути ошибки, когда основной запрос не вернул данных.
+     * Генерирует {@link NotFoundException} если пользователь не обнаружен.
+     * @param userId уникальный идентификатор пользователя.
+     */
+    private void requireUser(int userId) {
+        if (!userService.userChecker(userId)) {
+            throw new NotFoundException(String.format("Пользователь с id: %d не найден.", userId));
+        }
+    }
+
+    /**
+     * Сервисный метод обогащения запросов данными об ответах на них.
+     * Вещи для всех запросов списка запрашиваются одним запросом и группируются по запросам в памяти.
+     * @param requests список DTO-объектов запросов.
+     * @return возвращает список DTO-объектов запросов с присвоенными ответами.
+     */
+    private List<ItemRequestDto> itemsSetter(List<ItemRequestDto> requests) {
+        if (requests.isEmpty()) {
+            return requests;
+        }
+        Map<Integer, List<ItemDtoForRequest>> itemsByRequestId = itemRepository
+                .findByRequestIdIn(requests.stream()
+                        .map(ItemRequestDto::getId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(itemMapper::toItemDtoForRequest, Collectors.toList())));
+        requests.forEach(itemRequestDto -> itemRequestDto.setItems(itemsByRequestId
+                .getOrDefault(itemRequestDto.getId(), new ArrayList<>())));
+        return requests;
+    }
 }
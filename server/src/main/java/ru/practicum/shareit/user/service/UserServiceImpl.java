@@ -2,15 +2,25 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
 import ru.practicum.shareit.exception.model.ConflictException;
 import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +36,22 @@ public class UserServiceImpl implements UserService {
      * Предоставляет доступ к хранилищу для {@link User}.
      */
     private final UserRepository userRepository;
+    /**
+     * Предоставляет доступ к хранилищу для {@link Item}, из которого выбираются вещи удаляемого пользователя.
+     */
+    private final ItemRepository itemRepository;
+    /**
+     * Предоставляет доступ к сводкам бронирований вещей, которые устаревают при удалении автора бронирований.
+     */
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    /**
+     * Встроенный поисковый индекс вещей, из которого удаляются вещи удаленного пользователя.
+     */
+    private final ItemSearchIndex itemSearchIndex;
+    /**
+     * Предоставляет доступ к кэшу второго уровня, из которого удаляются вещи удаленного пользователя.
+     */
+    private final EntityManagerFactory entityManagerFactory;
     /**
      * Маппер для конвертирования сущностей.
      */
@@ -34,6 +60,8 @@ public class UserServiceImpl implements UserService {
     /**
      * Метод регистрации и добавления пользователя.
      * Генерирует {@link ConflictException} если почта уже занята.
+     * Идентификаторы выделяются из пула последовательности, поэтому вставка выполняется явно,
+     * чтобы нарушение уникальности почты обнаруживалось внутри метода, а не при фиксации транзакции.
      * @param userDto Dto-объект пользователя.
      * @return возвращает зарегистрированного пользователя
      * с присвоенным уникальны идентификатором в формате {@link UserDto}
@@ -43,10 +71,10 @@ public class UserServiceImpl implements UserService {
     public UserDto add(UserDto userDto) {
         log.info("Поступил запрос на регистрацию и добавление пользователя.");
         try {
-            User user = userRepository.save(mapper.toUser(userDto));
+            User user = userRepository.saveAndFlush(mapper.toUser(userDto));
             log.info("Пользователь {} успешно зарегистрирован и добавлен c id: {}", user.getName(), user.getId());
             return mapper.toUserDto(user);
-        } catch (Exception e) {
+        } catch (DataIntegrityViolationException e) {
             throw new ConflictException("Электронная почта уже занята.");
         }
     }
@@ -88,6 +116,11 @@ public class UserServiceImpl implements UserService {
      * Сервисный метод удаления пользователя.
      * Генерирует {@link NotFoundException} если пользователь не найден.
      * Удаляет из системы как пользователя, так и все его вещи.
+     * Вещи удаляются каскадно базой данных в обход Hibernate, поэтому после фиксации транзакции
+     * они удаляются из кэша второго уровня по идентификаторам: до фиксации параллельное чтение
+     * могло бы вернуть в кэш еще не удаленные вещи.
+     * Бронирования пользователя также удаляются каскадно, поэтому ссылающиеся на них {@link ItemBookingSummary}
+     * помечаются устаревшими.
      * @param id уникальный идентификатор пользователя подлежащего удалению.
      */
     @Override
@@ -95,7 +128,11 @@ public class UserServiceImpl implements UserService {
     public void delete(int id) {
         log.info("Поступил запрос на удаление пользователя.");
         if (userChecker(id)) {
+            itemBookingSummaryRepository.invalidateByBookerId(id, LocalDateTime.now());
+            List<Integer> itemIds = itemRepository.findIdsByOwnerId(id);
             userRepository.deleteById(id);
+            evictItemsAfterCommit(itemIds);
+            itemSearchIndex.removeByOwner(id);
         } else {
             throw new NotFoundException(String.format("Пользователь с id: %d не найден.", id));
         }
@@ -108,6 +145,7 @@ public class UserServiceImpl implements UserService {
      * @return возвращает пользователя в формате {@link UserDto}.
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDto get(int id) {
         log.info("Поступил запрос на предоставление пользователя по уникальному идентификатору.");
         return mapper.toUserDto(userRepository.findById(id).orElseThrow(()
@@ -119,6 +157,7 @@ public class UserServiceImpl implements UserService {
      * @return возвращает список пользователей в формате {@link UserDto}.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<UserDto> getAll() {
         return userRepository.findAll().stream()
                 .map(mapper::toUserDto)
@@ -127,11 +166,30 @@ public class UserServiceImpl implements UserService {
 
     /**
      * Сервисный метод проверки наличия зарегистрированного пользователя.
+     * Пользователь загружается по уникальному идентификатору, поэтому проверка обслуживается кэшем второго уровня.
      * @param id уникальный идентификатор пользователя.
      * @return возвращает булевое значение True - если пользователь обнаружен, False - если пользователь не обнаружен.
      */
     @Override
     public Boolean userChecker(int id) {
-        return userRepository.existsById(id);
+        return userRepository.findById(id).isPresent();
+    }
+
+    /**
+     * Удаляет вещи из кэша второго уровня после фиксации текущей транзакции.
+     * @param itemIds уникальные идентификаторы вещей.
+     */
+    private void evictItemsAfterCommit(List<Integer> itemIds) {
+        Runnable eviction = () -> itemIds.forEach(itemId -> entityManagerFactory.getCache().evict(Item.class, itemId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
     }
 }
@@ -0,0 +1,23 @@
+CREATE TABLE IF NOT EXISTS item_booking_summaries (
+  item_id BIGINT NOT NULL,
+  last_booking_id BIGINT,
+  last_booker_id BIGINT,
+  last_start_date TIMESTAMP WITHOUT TIME ZONE,
+  last_end_date TIMESTAMP WITHOUT TIME ZONE,
+  next_booking_id BIGINT,
+  next_booker_id BIGINT,
+  next_start_date TIMESTAMP WITHOUT TIME ZONE,
+  next_end_date TIMESTAMP WITHOUT TIME ZONE,
+  version BIGINT NOT NULL DEFAULT 0,
+  CONSTRAINT pk_item_booking_summary_item_id PRIMARY KEY (item_id),
+  CONSTRAINT fk_item_booking_summary_item_id FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_summaries_next_start ON item_booking_summaries (next_start_date);
+
+-- Сводки вещей с подтвержденными бронированиями создаются устаревшими и заполняются первым проходом обновления.
+INSERT INTO item_booking_summaries (item_id, next_start_date)
+SELECT i.id,
+       CASE WHEN EXISTS (SELECT 1 FROM bookings b WHERE b.item_id = i.id AND b.status = 'APPROVED')
+            THEN LOCALTIMESTAMP END
+FROM items i;
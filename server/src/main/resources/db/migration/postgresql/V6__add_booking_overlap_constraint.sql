@@ -0,0 +1,27 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- До появления ограничения пересекающиеся бронирования допускались. В порядке id каждое ожидающее или
+-- подтвержденное бронирование, пересекающееся с более ранним оставшимся активным, отклоняется.
+DO $$
+DECLARE
+  conflicting RECORD;
+BEGIN
+  FOR conflicting IN
+    SELECT b.id FROM bookings b
+    WHERE b.status IN ('WAITING', 'APPROVED')
+      AND EXISTS (SELECT 1 FROM bookings o
+                  WHERE o.item_id = b.item_id AND o.id < b.id AND o.status IN ('WAITING', 'APPROVED')
+                    AND tsrange(o.start_date, o.end_date) && tsrange(b.start_date, b.end_date))
+    ORDER BY b.id
+  LOOP
+    UPDATE bookings b SET status = 'REJECTED'
+    WHERE b.id = conflicting.id
+      AND EXISTS (SELECT 1 FROM bookings o
+                  WHERE o.item_id = b.item_id AND o.id < b.id AND o.status IN ('WAITING', 'APPROVED')
+                    AND tsrange(o.start_date, o.end_date) && tsrange(b.start_date, b.end_date));
+  END LOOP;
+END $$;
+
+ALTER TABLE bookings ADD CONSTRAINT excl_bookings_item_period
+  EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+  WHERE (status IN ('WAITING', 'APPROVED'));
@@ -0,0 +1,28 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SchemaMigrationTest {
+    private final TestEntityManager entityManager;
+
+    @Test
+    public void indexesTest() {
+        List<?> indexes = entityManager.getEntityManager()
+                .createNativeQuery("select upper(index_name) from information_schema.indexes")
+                .getResultList();
+        for (String index : List.of("IDX_BOOKINGS_BOOKER_START", "IDX_BOOKINGS_ITEM_STATUS_START", "IDX_ITEMS_OWNER",
+                "IDX_ITEMS_REQUEST", "IDX_COMMENTS_ITEM", "IDX_REQUESTS_REQUESTOR_CREATED")) {
+            assertTrue(indexes.contains(index), "Индекс " + index + " не создан.");
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.model.ConflictException;
+import ru.practicum.shareit.exception.model.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Бронирования фиксируются в отдельной базе, чтобы одновременные транзакции не зависели от других тестов.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:concurrency;LOCK_TIMEOUT=10000")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+
+    @Test
+    public void addOverlappingConcurrentlyTest() throws InterruptedException {
+        Item item = item("add");
+        List<User> bookers = bookers("add");
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<BookingDto>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int bookerId = bookers.get(i).getId();
+            BookingDto bookingDto = BookingDto.builder()
+                    .itemId(item.getId())
+                    .start(start.plusMinutes(i))
+                    .end(start.plusMinutes(i).plusHours(1))
+                    .build();
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                return bookingService.add(bookingDto, bookerId);
+            }));
+        }
+        startSignal.countDown();
+        int added = 0;
+        for (Future<BookingDto> future : futures) {
+            try {
+                future.get();
+                added++;
+            } catch (ExecutionException e) {
+                assertEquals(ConflictException.class, e.getCause().getClass(), "Тип ошибки отличается.");
+            }
+        }
+        executor.shutdown();
+        assertEquals(1, added, "Количество зарегистрированных бронирований отличается.");
+        assertEquals(1, bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId() == item.getId())
+                .count(), "Количество бронирований в базе отличается.");
+    }
+
+    @Test
+    public void statusAppropriatorConcurrentlyTest() throws InterruptedException {
+        Item item = item("status");
+        BookingDto bookingDto = bookingService.add(BookingDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build(), bookers("status").get(0).getId());
+        int ownerId = item.getOwner().getId();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<BookingDto>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            boolean approve = i % 2 == 0;
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                return bookingService.statusAppropriator(bookingDto.getId(), approve, ownerId);
+            }));
+        }
+        startSignal.countDown();
+        List<BookingDto> processed = new ArrayList<>();
+        for (Future<BookingDto> future : futures) {
+            try {
+                processed.add(future.get());
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ConflictException || e.getCause() instanceof ValidationException,
+                        "Тип ошибки отличается.");
+            }
+        }
+        executor.shutdown();
+        assertEquals(1, processed.size(), "Количество обработанных запросов отличается.");
+        Booking booking = bookingRepository.findById(bookingDto.getId()).orElseThrow();
+        assertEquals(processed.get(0).getStatus(), booking.getStatus(), "Статус отличается.");
+        assertEquals(1, booking.getVersion(), "Версия бронирования отличается.");
+    }
+
+    private Item item(String prefix) {
+        User owner = userRepository.save(User.builder()
+                .name(prefix + "owner")
+                .email(prefix + "owner@yandex.ru")
+                .build());
+        return itemRepository.save(Item.builder()
+                .name("item")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    private List<User> bookers(String prefix) {
+        return userRepository.saveAll(IntStream.range(0, THREADS)
+                .mapToObj(i -> User.builder()
+                        .name(prefix + "booker" + i)
+                        .email(prefix + "booker" + i + "@yandex.ru")
+                        .build())
+                .collect(Collectors.toList()));
+    }
+}
@@ -7,9 +7,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.assistant.BookingCursor;
 import ru.practicum.shareit.booking.assistant.Status;
 import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResultDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -20,6 +23,7 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -194,6 +198,34 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.item").value(item));
     }
 
+    @Test
+    public void statusAppropriatorAllTest() throws Exception {
+        when(bookingService.statusAppropriatorAll(anyList(), anyInt())).thenReturn(List.of(
+                BookingStatusResultDto.builder()
+                        .bookingId(1)
+                        .result(BookingStatusResultDto.Result.UPDATED)
+                        .booking(bookingDto)
+                        .build(),
+                BookingStatusResultDto.builder()
+                        .bookingId(2)
+                        .result(BookingStatusResultDto.Result.NOT_FOUND)
+                        .error("Бронирование не обнаружено.")
+                        .build()));
+        this.mockMvc.perform(patch("/bookings/batch")
+                        .header(USER_ID, 1)
+                        .content(new Gson().toJson(List.of(
+                                BookingStatusDto.builder().bookingId(1).approved(true).build(),
+                                BookingStatusDto.builder().bookingId(2).approved(false).build())))
+                        .contentType(MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId").value(1))
+                .andExpect(jsonPath("$[0].result").value("UPDATED"))
+                .andExpect(jsonPath("$[0].booking.id").value(1))
+                .andExpect(jsonPath("$[1].bookingId").value(2))
+                .andExpect(jsonPath("$[1].result").value("NOT_FOUND"))
+                .andExpect(jsonPath("$[1].error").isNotEmpty());
+    }
+
     @Test
     public void getValidationTest() throws Exception {
         this.mockMvc.perform(get("/bookings/1")
@@ -279,4 +311,22 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.[0].booker").value(user2))
                 .andExpect(jsonPath("$.[0].item").value(item));
     }
+
+    @Test
+    public void getAllByCursorTest() throws Exception {
+        List<BookingDto> testList = new ArrayList<>();
+        testList.add(bookingDto);
+        String cursor = BookingCursor.of(bookingDto).encode();
+        when(bookingService.getAll(anyString(), anyInt(), any(BookingCursor.class), anyInt())).thenReturn(testList);
+        this.mockMvc.perform(get("/bookings?state=ALL&from=0&size=1&cursor=" + cursor)
+                        .header(USER_ID, 1)
+                        .contentType(MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", cursor))
+                .andExpect(jsonPath("$.[0].id").value(1));
+        this.mockMvc.perform(get("/bookings?state=ALL&from=0&size=20&cursor=imposter")
+                        .header(USER_ID, 1)
+                        .contentType(MEDIA_TYPE))
+                .andExpect(status().isBadRequest());
+    }
 }
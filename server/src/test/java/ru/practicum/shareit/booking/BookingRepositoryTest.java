@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,24 +11,38 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
 import ru.practicum.shareit.booking.assistant.Status;
+import ru.practicum.shareit.booking.dto.BookingProjection;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingRepositoryCustomImpl;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import javax.sql.DataSource;
+import java.sql.Statement;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class BookingRepositoryTest {
     private final TestEntityManager entityManager;
     private final BookingRepository bookingRepository;
-    private final LocalDateTime start = LocalDateTime.now();
+    private final DataSource dataSource;
+    private final LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     private final LocalDateTime end = start.plusHours(1);
     private final Pageable pageable = PageRequest.of(0, 20,
             Sort.by(Sort.Direction.DESC, "start"));
@@ -55,6 +71,7 @@ public class BookingRepositoryTest {
         item.setOwner(user1);
         this.entityManager.persist(item);
         this.entityManager.persist(user2);
+        this.entityManager.flush();
         booking.setItem(item);
         booking.setBooker(user2);
     }
@@ -65,10 +82,9 @@ public class BookingRepositoryTest {
         booking.setStart(currentTime.minusSeconds(30));
         booking.setEnd(currentTime.plusSeconds(30));
         this.entityManager.persist(booking);
-        List<Booking> testList = bookingRepository
-                .findBookingByBookerIdAndStartIsBeforeAndEndIsAfter(user2.getId(), currentTime,
-                        currentTime, pageable).toList();
-        assertEquals(booking, testList.get(0), "Бронирования отличаются.");
+        List<BookingProjection> testList = bookingRepository
+                .findBookingByBookerIdAndStartIsBeforeAndEndIsAfter(user2.getId(), currentTime, pageable);
+        assertEquals(booking.getId(), testList.get(0).getId(), "Бронирования отличаются.");
         assertEquals(item, testList.get(0).getItem(), "Вещи отличаются");
         assertEquals(user2, testList.get(0).getBooker(), "Автор бронирования отличается.");
     }
@@ -79,9 +95,9 @@ public class BookingRepositoryTest {
         booking.setStart(currentTime.minusHours(2));
         booking.setEnd(currentTime.minusHours(1));
         this.entityManager.persist(booking);
-        List<Booking> testList = bookingRepository
-                .findBookingByBookerIdAndEndIsBefore(user2.getId(), currentTime, pageable).toList();
-        assertEquals(booking, testList.get(0), "Бронирования отличаются.");
+        List<BookingProjection> testList = bookingRepository
+                .findBookingByBookerIdAndEndIsBefore(user2.getId(), currentTime, pageable);
+        assertEquals(booking.getId(), testList.get(0).getId(), "Бронирования отличаются.");
         assertEquals(item, testList.get(0).getItem(), "Вещи отличаются");
         assertEquals(user2, testList.get(0).getBooker(), "Автор бронирования отличается.");
     }
@@ -92,9 +108,9 @@ public class BookingRepositoryTest {
         booking.setStart(currentTime.plusHours(1));
         booking.setEnd(currentTime.plusHours(2));
         this.entityManager.persist(booking);
-        List<Booking> testList = bookingRepository
-                .findBookingByBookerIdAndStartIsAfter(user2.getId(), currentTime, pageable).toList();
-        assertEquals(booking, testList.get(0), "Бронирования отличаются.");
+        List<BookingProjection> testList = bookingRepository
+                .findBookingByBookerIdAndStartIsAfter(user2.getId(), currentTime, pageable);
+        assertEquals(booking.getId(), testList.get(0).getId(), "Бронирования отличаются.");
         assertEquals(item, testList.get(0).getItem(), "Вещи отличаются");
         assertEquals(user2, testList.get(0).getBooker(), "Автор бронирования отличается.");
     }
@@ -102,9 +118,9 @@ public class BookingRepositoryTest {
     @Test
     public void findBookingByBookerIdAndStatusWaitingTest() {
         this.entityManager.persist(booking);
-        List<Booking> testList = bookingRepository
-                .findBookingByBookerIdAndStatus(user2.getId(), Status.WAITING, pageable).toList();
-        assertEquals(booking, testList.get(0), "Бронирования отличаются.");
+        List<BookingProjection> testList = bookingRepository
+                .findBookingByBookerIdAndStatus(user2.getId(), Status.WAITING, pageable);
+        assertEquals(booking.getId(), testList.get(0).getId(), "Бронирования отличаются.");
         assertEquals(item, testList.get(0).getItem(), "Вещи отличаются");
         assertEquals(user2, testList.get(0).getBooker(), "Автор бронирования отличается.");
     }
@@ -113,9 +129,9 @@ public class BookingRepositoryTest {
     public void findBookingByBookerIdAndStatusRejectedTest() {
         booking.setStatus(Status.REJECTED);
         this.entityManager.persist(booking);
-        List<Booking> testList = bookingRepository
-                .findBookingByBookerIdAndStatus(user2.getId(), Status.REJECTED, pageable).toList();
-        assertEquals(booking, testList.get(0), "Бронирования отличаются.");
+        List<BookingProjection> testList = bookingRepository
+                .findBookingByBookerIdAndStatus(user2.getId(), Status.REJECTED, pageable);
+        assertEquals(booking.getId(), testList.get(0).getId(), "Бронирования отличаются.");
         assertEquals(item, testList.get(0).getItem(), "Вещи отличаются");
         assertEquals(user2, testList.get(0).getBooker(), "Автор бронирования отличается.");
     }
@@ -123,9 +139,9 @@ public class BookingRepositoryTest {
     @Test
     public void findBookingByBookerIdTest() {
         this.entityManager.persist(booking);
-        List<Booking> testList = bookingRepository
-                .findBookingByBookerId(user2.getId(), pageable).toList();
-        assertEquals(booking, testList.get(0), "Бронирования отличаются.");
+        List<BookingProjection> testList = bookingRepository
+                .findBookingByBookerId(user2.getId(), pageable);
+        assertEquals(booking.getId(), testList.get(0).getId(), "Бронирования отличаются.");
         assertEquals(item, testList.get(0).getItem(), "Вещи отличаются");
         assertEquals(user2, testList.get(0).getBooker(), "Автор бронирования отличается.");
     }
@@ -136,10 +152,9 @@ public class BookingRepositoryTest {
         booking.setStart(currentTime.minusSeconds(30));
         booking.setEnd(currentTime.plusSeconds(30));
         this.entityManager.persist(booking);
-        List<Booking> testList = bookingRepository
-                .findBookingByItemOwnerIdAndStartIsBeforeAndEndIsAfter(user1.getId(), currentTime,
-                        currentTime, pageable).toList();
-        assertEquals(booking, testList.get(0), "Бронирования отличаются.");
+        List<BookingProjection> testList = bookingRepository
+                .findBookingByItemOwnerIdAndStartIsBeforeAndEndIsAfter(user1.getId(), currentTime, pageable);
+        assertEquals(booking.getId(), testList.get(0).getId(), "Бронирования отличаются.");
         assertEquals(item, testList.get(0).getItem(), "Вещи отличаются");
         assertEquals(user2, testList.get(0).getBooker(), "Автор бронирования отличается.");
     }
@@ -150,9 +165,9 @@ public class BookingRepositoryTest {
         booking.setStart(currentTime.minusHours(2));
         booking.setEnd(currentTime.minusHours(1));
         this.entityManager.persist(booking);
-        List<Booking> testList = bookingRepository
-                .findBookingByItemOwnerIdAndEndIsBefore(user1.getId(), currentTime, pageable).toList();
-        assertEquals(booking, testList.get(0), "Бронирования отличаются.");
+        List<BookingProjection> testList = bookingRepository
+                .findBookingByItemOwnerIdAndEndIsBefore(user1.getId(), currentTime, pageable);
+        assertEquals(booking.getId(), testList.get(0).getId(), "Бронирования отличаются.");
         assertEquals(item, testList.get(0).getItem(), "Вещи отличаются");
         assertEquals(user2, testList.get(0).getBooker(), "Автор бронирования отличается.");
     }
@@ -163,9 +178,9 @@ public class BookingRepositoryTest {
         booking.setStart(currentTime.plusHours(1));
         booking.setEnd(currentTime.plusHours(2));
         this.entityManager.persist(booking);
-        List<Booking> testList = bookingRepository
-                .findBookingByItemOwnerIdAndStartIsAfter(user1.getId(), currentTime, pageable).toList();
-        assertEquals(booking, testList.get(0), "Бронирования отличаются.");
+        List<BookingProjection> testList = bookingRepository
+                .findBookingByItemOwnerIdAndStartIsAfter(user1.getId(), currentTime, pageable);
+        assertEquals(booking.getId(), testList.get(0).getId(), "Бронирования отличаются.");
         assertEquals(item, testList.get(0).getItem(), "Вещи отличаются");
         assertEquals(user2, testList.get(0).getBooker(), "Автор бронирования отличается.");
     }
@@ -173,9 +188,9 @@ public class BookingRepositoryTest {
     @Test
     public void findBookingByItemOwnerIdAndStatusWaitingTest() {
         this.entityManager.persist(booking);
-        List<Booking> testList = bookingRepository
-                .findBookingByItemOwnerIdAndStatus(user1.getId(), Status.WAITING, pageable).toList();
-        assertEquals(booking, testList.get(0), "Бронирования отличаются.");
+        List<BookingProjection> testList = bookingRepository
+                .findBookingByItemOwnerIdAndStatus(user1.getId(), Status.WAITING, pageable);
+        assertEquals(booking.getId(), testList.get(0).getId(), "Бронирования отличаются.");
         assertEquals(item, testList.get(0).getItem(), "Вещи отличаются");
         assertEquals(user2, testList.get(0).getBooker(), "Автор бронирования отличается.");
     }
@@ -184,9 +199,9 @@ public class BookingRepositoryTest {
     public void findBookingByItemOwnerIdAndStatusRejectedTest() {
         booking.setStatus(Status.REJECTED);
         this.entityManager.persist(booking);
-        List<Booking> testList = bookingRepository
-                .findBookingByItemOwnerIdAndStatus(user1.getId(), Status.REJECTED, pageable).toList();
-        assertEquals(booking, testList.get(0), "Бронирования отличаются.");
+        List<BookingProjection> testList = bookingRepository
+                .findBookingByItemOwnerIdAndStatus(user1.getId(), Status.REJECTED, pageable);
+        assertEquals(booking.getId(), testList.get(0).getId(), "Бронирования отличаются.");
         assertEquals(item, testList.get(0).getItem(), "Вещи отличаются");
         assertEquals(user2, testList.get(0).getBooker(), "Автор бронирования отличается.");
     }
@@ -194,9 +209,9 @@ public class BookingRepositoryTest {
     @Test
     public void findBookingByItemOwnerIdTest() {
         this.entityManager.persist(booking);
-        List<Booking> testList = bookingRepository
-                .findBookingByItemOwnerId(user1.getId(), pageable).toList();
-        assertEquals(booking, testList.get(0), "Бронирования отличаются.");
+        List<BookingProjection> testList = bookingRepository
+                .findBookingByItemOwnerId(user1.getId(), pageable);
+        assertEquals(booking.getId(), testList.get(0).getId(), "Бронирования отличаются.");
         assertEquals(item, testList.get(0).getItem(), "Вещи отличаются");
         assertEquals(user2, testList.get(0).getBooker(), "Автор бронирования отличается.");
     }
@@ -247,6 +262,148 @@ public class BookingRepositoryTest {
         assertEquals(user2, testBooking.getBooker(), "Автор бронирования отличается.");
     }
 
+    @Test
+    public void findLastAndNextByItemIdInTest() {
+        LocalDateTime currentTime = LocalDateTime.now();
+        booking.setStatus(Status.APPROVED);
+        booking.setStart(currentTime.minusHours(2));
+        booking.setEnd(currentTime.minusHours(1));
+        this.entityManager.persist(booking);
+        Booking olderBooking = booking.toBuilder()
+                .id(0)
+                .start(currentTime.minusHours(4))
+                .end(currentTime.minusHours(3))
+                .build();
+        this.entityManager.persist(olderBooking);
+        Booking nextBooking = booking.toBuilder()
+                .id(0)
+                .start(currentTime.plusHours(1))
+                .end(currentTime.plusHours(2))
+                .build();
+        this.entityManager.persist(nextBooking);
+        Booking waitingBooking = booking.toBuilder()
+                .id(0)
+                .status(Status.WAITING)
+                .start(currentTime.plusMinutes(30))
+                .end(currentTime.plusMinutes(40))
+                .build();
+        this.entityManager.persist(waitingBooking);
+        List<Booking> testList = bookingRepository
+                .findLastAndNextByItemIdIn(List.of(item.getId()), currentTime, Status.APPROVED);
+        assertEquals(2, testList.size(), "Количество бронирований отличается.");
+        assertTrue(testList.contains(booking), "Последнее бронирование не найдено.");
+        assertTrue(testList.contains(nextBooking), "Следующее бронирование не найдено.");
+    }
+
+    @Test
+    public void findLastAndNextByItemIdInSameStartTest() {
+        LocalDateTime currentTime = LocalDateTime.now();
+        booking.setStatus(Status.APPROVED);
+        booking.setStart(currentTime.minusHours(2));
+        booking.setEnd(currentTime.minusHours(1));
+        this.entityManager.persist(booking);
+        Booking sameStartLastBooking = booking.toBuilder().id(0).build();
+        this.entityManager.persist(sameStartLastBooking);
+        Booking nextBooking = booking.toBuilder()
+                .id(0)
+                .start(currentTime.plusHours(1))
+                .end(currentTime.plusHours(2))
+                .build();
+        this.entityManager.persist(nextBooking);
+        this.entityManager.persist(nextBooking.toBuilder().id(0).build());
+        List<Booking> testList = bookingRepository
+                .findLastAndNextByItemIdIn(List.of(item.getId()), currentTime, Status.APPROVED);
+        assertEquals(2, testList.size(), "Количество бронирований отличается.");
+        assertTrue(testList.contains(sameStartLastBooking), "Последнее бронирование не найдено.");
+        assertTrue(testList.contains(nextBooking), "Следующее бронирование не найдено.");
+    }
+
+    /**
+     * Драйвер, не сообщающий количество измененных строк пакета, имитируется подменой результата пакета.
+     */
+    @Test
+    public void updateStatusesWithoutUpdateCountsTest() {
+        this.entityManager.persist(booking);
+        Booking processedBooking = this.entityManager.persist(booking.toBuilder()
+                .id(0)
+                .status(Status.APPROVED)
+                .build());
+        BookingRepositoryCustomImpl repository = new BookingRepositoryCustomImpl(new JdbcTemplate(dataSource) {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                int[] counts = super.batchUpdate(sql, batchArgs);
+                Arrays.fill(counts, Statement.SUCCESS_NO_INFO);
+                return counts;
+            }
+        });
+        ReflectionTestUtils.setField(repository, "entityManager", this.entityManager.getEntityManager());
+        assertEquals(Set.of(booking.getId()), repository.updateStatuses(Map.of(booking.getId(), Status.APPROVED,
+                        processedBooking.getId(), Status.REJECTED), Status.WAITING),
+                "Обновленные бронирования отличаются.");
+    }
+
+    @Test
+    public void updateStatusTest() {
+        this.entityManager.persist(booking);
+        assertEquals(1, bookingRepository.updateStatus(booking.getId(), Status.WAITING, Status.APPROVED),
+                "Статус бронирования не изменен.");
+        assertEquals(0, bookingRepository.updateStatus(booking.getId(), Status.WAITING, Status.REJECTED),
+                "Статус обработанного бронирования изменен.");
+        assertEquals(0, bookingRepository.updateStatus(booking.getId() + 1, Status.WAITING, Status.APPROVED),
+                "Статус несуществующего бронирования изменен.");
+        Booking updatedBooking = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(Status.APPROVED, updatedBooking.getStatus(), "Статус отличается.");
+        assertEquals(1, updatedBooking.getVersion(), "Версия бронирования отличается.");
+    }
+
+    @Test
+    public void seekBookingByBookerIdTest() {
+        this.entityManager.persist(booking);
+        Booking sameStartBooking = booking.toBuilder()
+                .id(0)
+                .build();
+        this.entityManager.persist(sameStartBooking);
+        Booking olderBooking = booking.toBuilder()
+                .id(0)
+                .start(start.minusHours(2))
+                .end(start.minusHours(1))
+                .build();
+        this.entityManager.persist(olderBooking);
+        List<BookingProjection> testList = bookingRepository.seekBookingByBookerId(user2.getId(),
+                sameStartBooking.getStart(), sameStartBooking.getId(),
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "start").and(Sort.by(Sort.Direction.DESC, "id"))));
+        assertEquals(List.of(booking.getId(), olderBooking.getId()), testList.stream()
+                        .map(BookingProjection::getId)
+                        .collect(Collectors.toList()), "Бронирования после курсора отличаются.");
+    }
+
+    @Test
+    public void findBookingByItemOwnerIdSingleStatementTest() {
+        ItemRequest request = ItemRequest.builder()
+                .description("request")
+                .requestor(user2)
+                .created(start)
+                .build();
+        this.entityManager.persist(request);
+        item.setRequest(request);
+        this.entityManager.merge(item);
+        this.entityManager.persist(booking);
+        this.entityManager.flush();
+        this.entityManager.clear();
+        Statistics statistics = this.entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        List<BookingProjection> testList = bookingRepository.findBookingByItemOwnerId(user1.getId(), pageable);
+        assertEquals("user1", testList.get(0).getItem().getOwner().getName(), "Владелец вещи отличается.");
+        assertEquals("user2", testList.get(0).getItem().getRequest().getRequestor().getName(),
+                "Автор запроса отличается.");
+        assertEquals("user2", testList.get(0).getBooker().getName(), "Автор бронирования отличается.");
+        assertEquals(1, statistics.getPrepareStatementCount(), "Количество SQL-запросов отличается.");
+        assertEquals(0, statistics.getEntityLoadCount(), "Сущности загружены в контекст персистентности.");
+        statistics.setStatisticsEnabled(false);
+    }
+
     @BeforeEach
     public void cleaner() {
         this.entityManager.clear();
@@ -6,18 +6,25 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import ru.practicum.shareit.booking.assistant.Status;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResultDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.model.ConflictException;
 import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.exception.model.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.support.QueryBudget;
+import ru.practicum.shareit.support.StatementCountingConfig;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,10 +33,12 @@ import static org.junit.jupiter.api.Assertions.*;
 @AutoConfigureTestDatabase
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 @Transactional
+@Import(StatementCountingConfig.class)
 public class BookingServiceTest {
     private final BookingService bookingService;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final QueryBudget queryBudget;
     private User user1 = User.builder()
             .name("name1")
             .email("email1@yandex.ru")
@@ -43,7 +52,7 @@ public class BookingServiceTest {
             .name("name2")
             .email("email2@yandex.ru")
             .build();
-    private final LocalDateTime start = LocalDateTime.now().plusHours(48);
+    private final LocalDateTime start = LocalDateTime.now().plusHours(48).truncatedTo(ChronoUnit.MICROS);
     private final LocalDateTime end = start.plusHours(49);
     private BookingDto bookingDto;
 
@@ -142,6 +151,26 @@ public class BookingServiceTest {
                 "Статус отличается.");
     }
 
+    @Test
+    public void addOverlappingTest() {
+        bookingService.add(bookingDto, user2.getId());
+        BookingDto overlappingBooking = BookingDto.builder()
+                .start(start.plusHours(1))
+                .end(end.plusHours(1))
+                .itemId(item.getId())
+                .build();
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> bookingService.add(overlappingBooking, user2.getId()));
+        assertEquals("Вещь уже забронирована на это время.", exception.getMessage(),
+                "Описание ошибки отличается");
+        BookingDto adjacentBooking = bookingService.add(BookingDto.builder()
+                .start(end)
+                .end(end.plusHours(1))
+                .itemId(item.getId())
+                .build(), user2.getId());
+        assertTrue(adjacentBooking.getId() != 0, "Смежное бронирование не было зарегистрировано.");
+    }
+
     @Test
     public void statusAppropriatorValidationTest() {
         BookingDto testBooking = bookingService.add(bookingDto, user2.getId());
@@ -181,10 +210,12 @@ public class BookingServiceTest {
     @Test
     public void statusAppropriatorTest() {
         BookingDto registrationBooking1 = bookingService.add(bookingDto, user2.getId());
-        BookingDto testBooking = bookingService.statusAppropriator(registrationBooking1.getId(),
-                true, user1.getId());
+        BookingDto testBooking = queryBudget.assertAtMost(3,
+                () -> bookingService.statusAppropriator(registrationBooking1.getId(), true, user1.getId()));
         assertEquals(Status.APPROVED, testBooking.getStatus(),
                 "Статус отличается.");
+        bookingDto.setStart(end);
+        bookingDto.setEnd(end.plusHours(1));
         BookingDto registrationBooking2 = bookingService.add(bookingDto, user2.getId());
         BookingDto testBooking2 = bookingService.statusAppropriator(registrationBooking2.getId(),
                 false, user1.getId());
@@ -192,6 +223,55 @@ public class BookingServiceTest {
                 "Статус отличается.");
     }
 
+    @Test
+    public void statusAppropriatorAllValidationTest() {
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> bookingService
+                .statusAppropriatorAll(List.of(BookingStatusDto.builder().bookingId(1).approved(true).build()), 999));
+        assertEquals("Пользователь c id: 999 не обнаружен.", exception.getMessage(), "Описание ошибки отличается");
+    }
+
+    @Test
+    public void statusAppropriatorAllTest() {
+        BookingDto approvedBooking = bookingService.add(bookingDto, user2.getId());
+        BookingDto rejectedBooking = bookingService.add(bookingDto.toBuilder()
+                .start(start.plusDays(10)).end(end.plusDays(10)).build(), user2.getId());
+        BookingDto processedBooking = bookingService.add(bookingDto.toBuilder()
+                .start(start.plusDays(20)).end(end.plusDays(20)).build(), user2.getId());
+        bookingService.statusAppropriator(processedBooking.getId(), false, user1.getId());
+        Item otherItem = itemRepository.save(item.toBuilder().id(0).owner(user2).build());
+        BookingDto otherBooking = bookingService.add(bookingDto.toBuilder().itemId(otherItem.getId()).build(),
+                user1.getId());
+        List<BookingStatusResultDto> results = queryBudget.assertAtMost(3, () -> bookingService
+                .statusAppropriatorAll(List.of(
+                        BookingStatusDto.builder().bookingId(approvedBooking.getId()).approved(true).build(),
+                        BookingStatusDto.builder().bookingId(rejectedBooking.getId()).approved(false).build(),
+                        BookingStatusDto.builder().bookingId(processedBooking.getId()).approved(true).build(),
+                        BookingStatusDto.builder().bookingId(approvedBooking.getId()).approved(false).build(),
+                        BookingStatusDto.builder().bookingId(otherBooking.getId()).approved(true).build()),
+                        user1.getId()));
+        assertEquals(5, results.size(), "Количество результатов отличается.");
+        assertEquals(BookingStatusResultDto.Result.UPDATED, results.get(0).getResult(),
+                "Бронирование не было подтверждено.");
+        assertEquals(Status.APPROVED, results.get(0).getBooking().getStatus(), "Статус отличается.");
+        assertEquals(BookingStatusResultDto.Result.UPDATED, results.get(1).getResult(),
+                "Бронирование не было отклонено.");
+        assertEquals(Status.REJECTED, results.get(1).getBooking().getStatus(), "Статус отличается.");
+        assertEquals(BookingStatusResultDto.Result.ALREADY_PROCESSED, results.get(2).getResult(),
+                "Обработанное ранее бронирование было изменено.");
+        assertEquals(BookingStatusResultDto.Result.ALREADY_PROCESSED, results.get(3).getResult(),
+                "Повторно указанное бронирование было изменено.");
+        assertEquals(BookingStatusResultDto.Result.NOT_FOUND, results.get(4).getResult(),
+                "Изменено бронирование чужой вещи.");
+        assertEquals(Status.APPROVED, bookingService.get(approvedBooking.getId(), user1.getId()).getStatus(),
+                "Статус не был сохранен.");
+        assertEquals(Status.REJECTED, bookingService.get(rejectedBooking.getId(), user1.getId()).getStatus(),
+                "Статус не был сохранен.");
+        assertEquals(Status.REJECTED, bookingService.get(processedBooking.getId(), user1.getId()).getStatus(),
+                "Статус обработанного ранее бронирования был изменен.");
+        assertEquals(Status.WAITING, bookingService.get(otherBooking.getId(), user2.getId()).getStatus(),
+                "Статус бронирования чужой вещи был изменен.");
+    }
+
     @Test
     public void getValidationTest() {
         BookingDto expectedBooking = bookingService.add(bookingDto, user2.getId());
@@ -227,7 +307,8 @@ public class BookingServiceTest {
     @Test
     public void getTest() {
         BookingDto registrationBooking = bookingService.add(bookingDto, user2.getId());
-        BookingDto testBookingByBooker = bookingService.get(registrationBooking.getId(), user2.getId());
+        BookingDto testBookingByBooker = queryBudget.assertAtMost(1,
+                () -> bookingService.get(registrationBooking.getId(), user2.getId()));
         assertEquals(registrationBooking.getId(), testBookingByBooker.getId(),
                 "Id отличается.");
         assertEquals(start, testBookingByBooker.getStart(),
@@ -301,8 +382,8 @@ public class BookingServiceTest {
         assertEquals(user2, rejectedBookings.get(0).getBooker(),
                 "Автор бронирования отличается.");
         BookingDto currentBooking = bookingService.add(BookingDto.builder()
-                .start(LocalDateTime.now().minusSeconds(30))
-                .end(LocalDateTime.now().plusSeconds(30))
+                .start(LocalDateTime.now().minusSeconds(30).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusSeconds(30).truncatedTo(ChronoUnit.MICROS))
                 .itemId(item.getId())
                 .build(), user2.getId());
         List<BookingDto> currentBookings = bookingService.getAll("CURRENT",
@@ -318,8 +399,8 @@ public class BookingServiceTest {
         assertEquals(user2, currentBookings.get(0).getBooker(),
                 "Автор бронирования отличается.");
         BookingDto pastBooking = bookingService.add(BookingDto.builder()
-                .start(LocalDateTime.now().minusDays(1))
-                .end(LocalDateTime.now().minusHours(23))
+                .start(LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().minusHours(23).truncatedTo(ChronoUnit.MICROS))
                 .itemId(item.getId())
                 .build(), user2.getId());
         List<BookingDto> pastBookings = bookingService.getAll("PAST",
@@ -335,8 +416,8 @@ public class BookingServiceTest {
         assertEquals(user2, pastBookings.get(0).getBooker(),
                 "Автор бронирования отличается.");
         BookingDto futureBooking = bookingService.add(BookingDto.builder()
-                .start(LocalDateTime.now().plusHours(1))
-                .end(LocalDateTime.now().plusHours(2))
+                .start(LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusHours(2).truncatedTo(ChronoUnit.MICROS))
                 .itemId(item.getId())
                 .build(), user2.getId());
         List<BookingDto> futureBookings = bookingService.getAll("FUTURE",
@@ -359,6 +440,24 @@ public class BookingServiceTest {
                 "Число бронирований отличается.");
     }
 
+    @Test
+    public void getAllQueryBudgetTest() {
+        for (int i = 0; i < 3; i++) {
+            Item otherItem = itemRepository.save(item.toBuilder().id(0).name("name" + i).build());
+            bookingService.add(BookingDto.builder()
+                    .start(start)
+                    .end(end)
+                    .itemId(otherItem.getId())
+                    .build(), user2.getId());
+        }
+        List<BookingDto> bookerBookings = queryBudget.assertAtMost(1,
+                () -> bookingService.getAll("ALL", user2.getId(), 0, 20));
+        assertEquals(3, bookerBookings.size(), "Количество бронирований автора отличается.");
+        List<BookingDto> ownerBookings = queryBudget.assertAtMost(1,
+                () -> bookingService.getByUser("ALL", user1.getId(), 0, 20));
+        assertEquals(3, ownerBookings.size(), "Количество бронирований владельца отличается.");
+    }
+
     @Test
     public void getByUserValidationTest() {
         bookingService.add(bookingDto, user2.getId());
@@ -409,8 +508,8 @@ public class BookingServiceTest {
         assertEquals(user2, rejectedBookings.get(0).getBooker(),
                 "Автор бронирования отличается.");
         BookingDto currentBooking = bookingService.add(BookingDto.builder()
-                .start(LocalDateTime.now().minusSeconds(30))
-                .end(LocalDateTime.now().plusSeconds(30))
+                .start(LocalDateTime.now().minusSeconds(30).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusSeconds(30).truncatedTo(ChronoUnit.MICROS))
                 .itemId(item.getId())
                 .build(), user2.getId());
         List<BookingDto> currentBookings = bookingService.getByUser("CURRENT",
@@ -426,8 +525,8 @@ public class BookingServiceTest {
         assertEquals(user2, currentBookings.get(0).getBooker(),
                 "Автор бронирования отличается.");
         BookingDto pastBooking = bookingService.add(BookingDto.builder()
-                .start(LocalDateTime.now().minusDays(1))
-                .end(LocalDateTime.now().minusHours(23))
+                .start(LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().minusHours(23).truncatedTo(ChronoUnit.MICROS))
                 .itemId(item.getId())
                 .build(), user2.getId());
         List<BookingDto> pastBookings = bookingService.getByUser("PAST",
@@ -443,8 +542,8 @@ public class BookingServiceTest {
         assertEquals(user2, pastBookings.get(0).getBooker(),
                 "Автор бронирования отличается.");
         BookingDto futureBooking = bookingService.add(BookingDto.builder()
-                .start(LocalDateTime.now().plusHours(1))
-                .end(LocalDateTime.now().plusHours(2))
+                .start(LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusHours(2).truncatedTo(ChronoUnit.MICROS))
                 .itemId(item.getId())
                 .build(), user2.getId());
         List<BookingDto> futureBookings = bookingService.getByUser("FUTURE",
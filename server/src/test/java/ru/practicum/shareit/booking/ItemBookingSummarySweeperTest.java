@@ -0,0 +1,150 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusDto;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.ItemBookingSummarySweeper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoIncreasedConfidential;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Transactional
+public class ItemBookingSummarySweeperTest {
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final ItemBookingSummarySweeper itemBookingSummarySweeper;
+    private User owner = User.builder().name("owner").email("owner@yandex.ru").build();
+    private User booker = User.builder().name("booker").email("booker@yandex.ru").build();
+    private ItemDtoIncreasedConfidential item;
+
+    @BeforeEach
+    public void start() {
+        owner = userRepository.save(owner);
+        booker = userRepository.save(booker);
+        item = itemService.add(ItemDto.builder().name("name").description("description").available(true).build(),
+                owner.getId());
+    }
+
+    @Test
+    public void statusAppropriatorTest() {
+        assertTrue(itemBookingSummaryRepository.findById(item.getId()).isPresent(),
+                "Сводка не была создана вместе с вещью.");
+        BookingDto lastBooking = approved(LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1));
+        approved(LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(3));
+        BookingDto earlierNextBooking = approved(LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(1).plusHours(1));
+        ItemBookingSummary summary = itemBookingSummaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(lastBooking.getId(), summary.getLastBookingId(), "Последнее бронирование отличается.");
+        assertEquals(booker.getId(), summary.getLastBookerId(), "Автор последнего бронирования отличается.");
+        assertEquals(earlierNextBooking.getId(), summary.getNextBookingId(), "Следующее бронирование отличается.");
+        bookingService.statusAppropriator(bookingService.add(BookingDto.builder().itemId(item.getId())
+                .start(LocalDateTime.now().plusHours(1)).end(LocalDateTime.now().plusHours(2)).build(),
+                booker.getId()).getId(), false, owner.getId());
+        assertEquals(earlierNextBooking.getId(), itemBookingSummaryRepository.findById(item.getId()).orElseThrow()
+                .getNextBookingId(), "Отклоненное бронирование попало в сводку.");
+    }
+
+    @Test
+    public void statusAppropriatorAllTest() {
+        ItemDtoIncreasedConfidential otherItem = itemService.add(ItemDto.builder().name("other")
+                .description("description").available(true).build(), owner.getId());
+        BookingDto lastBooking = waiting(item.getId(), LocalDateTime.now().minusHours(2),
+                LocalDateTime.now().minusHours(1));
+        BookingDto earlierLastBooking = waiting(item.getId(), LocalDateTime.now().minusHours(4),
+                LocalDateTime.now().minusHours(3));
+        BookingDto laterNextBooking = waiting(item.getId(), LocalDateTime.now().plusDays(2),
+                LocalDateTime.now().plusDays(3));
+        BookingDto nextBooking = waiting(item.getId(), LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(1).plusHours(1));
+        BookingDto otherNextBooking = waiting(otherItem.getId(), LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2));
+        bookingService.statusAppropriatorAll(Stream.of(lastBooking, earlierLastBooking, laterNextBooking,
+                        nextBooking, otherNextBooking)
+                .map(booking -> BookingStatusDto.builder().bookingId(booking.getId()).approved(true).build())
+                .collect(Collectors.toList()), owner.getId());
+        ItemBookingSummary summary = itemBookingSummaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(lastBooking.getId(), summary.getLastBookingId(), "Последнее бронирование отличается.");
+        assertEquals(nextBooking.getId(), summary.getNextBookingId(), "Следующее бронирование отличается.");
+        ItemBookingSummary otherSummary = itemBookingSummaryRepository.findById(otherItem.getId()).orElseThrow();
+        assertNull(otherSummary.getLastBookingId(), "Последнее бронирование было записано.");
+        assertEquals(otherNextBooking.getId(), otherSummary.getNextBookingId(), "Следующее бронирование отличается.");
+        assertEquals(booker.getId(), otherSummary.getNextBookerId(), "Автор следующего бронирования отличается.");
+    }
+
+    @Test
+    public void sweepTest() {
+        approved(LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1));
+        BookingDto nextBooking = approved(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        BookingDto laterBooking = approved(LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4));
+        assertEquals(0, itemBookingSummarySweeper.sweep(LocalDateTime.now()), "Обновлена актуальная сводка.");
+        assertEquals(1, itemBookingSummarySweeper.sweep(LocalDateTime.now().plusDays(2)),
+                "Устаревшая сводка не была обновлена.");
+        ItemBookingSummary summary = itemBookingSummaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(nextBooking.getId(), summary.getLastBookingId(), "Следующее бронирование не стало последним.");
+        assertEquals(laterBooking.getId(), summary.getNextBookingId(), "Следующее бронирование отличается.");
+        assertEquals(1, itemBookingSummarySweeper.sweep(LocalDateTime.now().plusDays(5)),
+                "Устаревшая сводка не была обновлена.");
+        summary = itemBookingSummaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(laterBooking.getId(), summary.getLastBookingId(), "Последнее бронирование отличается.");
+        assertNull(summary.getNextBookingId(), "Следующее бронирование не было сброшено.");
+        assertNull(summary.getNextStart(), "Начало следующего бронирования не было сброшено.");
+    }
+
+    @Test
+    public void deleteBookerTest() {
+        User otherBooker = userRepository.save(User.builder().name("other").email("other@yandex.ru").build());
+        BookingDto olderBooking = approved(LocalDateTime.now().minusHours(4), LocalDateTime.now().minusHours(3),
+                otherBooker);
+        approved(LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1));
+        approved(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        userService.delete(booker.getId());
+        ItemDtoIncreasedConfidential ownerItem = itemService.getById(item.getId(), owner.getId());
+        assertEquals(olderBooking.getId(), ownerItem.getLastBooking().getId(),
+                "Последнее бронирование удаленного пользователя осталось в вещи.");
+        assertNull(ownerItem.getNextBooking(), "Следующее бронирование удаленного пользователя осталось в вещи.");
+        assertEquals(1, itemBookingSummarySweeper.sweep(LocalDateTime.now()),
+                "Сводка с бронированиями удаленного пользователя не была обновлена.");
+        ItemBookingSummary summary = itemBookingSummaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(olderBooking.getId(), summary.getLastBookingId(), "Последнее бронирование отличается.");
+        assertEquals(otherBooker.getId(), summary.getLastBookerId(), "Автор последнего бронирования отличается.");
+        assertNull(summary.getNextBookingId(), "Следующее бронирование не было сброшено.");
+    }
+
+    private BookingDto approved(LocalDateTime start, LocalDateTime end) {
+        return approved(start, end, booker);
+    }
+
+    private BookingDto waiting(int itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingService.add(BookingDto.builder().itemId(itemId).start(start).end(end).build(), booker.getId());
+    }
+
+    private BookingDto approved(LocalDateTime start, LocalDateTime end, User user) {
+        BookingDto booking = bookingService.add(BookingDto.builder().itemId(item.getId()).start(start).end(end).build(),
+                user.getId());
+        return bookingService.statusAppropriator(booking.getId(), true, owner.getId());
+    }
+}
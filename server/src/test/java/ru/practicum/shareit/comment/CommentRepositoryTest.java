@@ -58,6 +58,14 @@ public class CommentRepositoryTest {
         assertThat(testList.get(0)).isEqualTo(comment);
     }
 
+    @Test
+    public void findByItemIdInTest() {
+        List<Comment> testList = commentRepository.findByItemIdIn(List.of(item.getId()));
+        assertThat(testList.size()).isEqualTo(1);
+        assertThat(testList.get(0)).isEqualTo(comment);
+        assertThat(testList.get(0).getAuthor()).isEqualTo(user2);
+    }
+
     @AfterEach
     public void cleaner() {
         entityManager.clear();
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReplicaRoutingDataSourceTest {
+    private static final String SELECT_NODE = "select name from node";
+    private final DataSource primary = node("primary");
+    private final DataSource replica = node("replica");
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    public void start() {
+        start(Duration.ZERO);
+    }
+
+    @Test
+    public void readOnlyTransactionTest() {
+        assertEquals("replica", readOnlyTransaction.execute(status -> jdbcTemplate
+                .queryForObject(SELECT_NODE, String.class)), "Чтение выполнено не на реплике.");
+    }
+
+    @Test
+    public void writeTransactionTest() {
+        assertEquals("primary", writeTransaction.execute(status -> jdbcTemplate
+                .queryForObject(SELECT_NODE, String.class)), "Запись выполнена не на основной базе.");
+    }
+
+    @Test
+    public void withoutTransactionTest() {
+        assertEquals("primary", jdbcTemplate.queryForObject(SELECT_NODE, String.class),
+                "Обращение вне транзакции выполнено не на основной базе.");
+    }
+
+    @Test
+    public void readYourWritesTest() {
+        start(Duration.ofMinutes(1));
+        RequestUserContext.set(1);
+        try {
+            assertEquals("replica", readOnlyTransaction.execute(status -> jdbcTemplate
+                    .queryForObject(SELECT_NODE, String.class)), "Чтение до записи выполнено не на реплике.");
+            writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("update node set updated = true"));
+            assertEquals("primary", readOnlyTransaction.execute(status -> jdbcTemplate
+                    .queryForObject(SELECT_NODE, String.class)), "Чтение после записи выполнено не на основной базе.");
+            RequestUserContext.set(2);
+            assertEquals("replica", readOnlyTransaction.execute(status -> jdbcTemplate
+                    .queryForObject(SELECT_NODE, String.class)), "Чтение другого пользователя выполнено не на реплике.");
+        } finally {
+            RequestUserContext.clear();
+        }
+    }
+
+    private void start(Duration readYourWritesWindow) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replica,
+                readYourWritesWindow);
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    private static DataSource node(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "test", "test");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(16), updated boolean)");
+        jdbcTemplate.update("delete from node");
+        jdbcTemplate.update("insert into node (name, updated) values (?, false)", name);
+        return dataSource;
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
@@ -30,6 +31,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class ItemControllerTest {
     private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
     private static final String MEDIA_TYPE = "application/json";
     private static final String USER_ID = "X-Sharer-User-Id";
     @MockBean
@@ -101,6 +103,25 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.requestId").value(1));
     }
 
+    @Test
+    public void addAllTest() throws Exception {
+        when(itemService.addAll(anyList(), anyInt()))
+                .thenReturn(List.of(itemDtoIncreasedConfidential));
+        this.mockMvc.perform(post("/items/batch")
+                        .header(USER_ID, 1)
+                        .content(objectMapper.writeValueAsString(List.of(ItemDto.builder()
+                                .name("name")
+                                .description("description")
+                                .available(true)
+                                .build())))
+                        .contentType(MEDIA_TYPE))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.[0].id").value(1))
+                .andExpect(jsonPath("$.[0].name").value("name"))
+                .andExpect(jsonPath("$.[0].owner").value(user1))
+                .andExpect(jsonPath("$.[0].requestId").value(1));
+    }
+
     @Test
     public void updateValidationTest() throws Exception {
         ItemDto testItemDto = ItemDto.builder()
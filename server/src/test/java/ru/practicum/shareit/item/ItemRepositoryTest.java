@@ -10,6 +10,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.IndexedItem;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -18,6 +19,7 @@ import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -61,19 +63,75 @@ public class ItemRepositoryTest {
         assertEquals(item, testList.get(0), "Вещь отличается");
     }
 
+    @Test
+    public void findByIdForUserTest() {
+        assertEquals(item, itemRepository.findByIdForUser(item.getId(), user1.getId()).orElseThrow(),
+                "Вещь отличается");
+        assertTrue(itemRepository.findByIdForUser(item.getId(), -1).isEmpty(),
+                "Вещь найдена для неизвестного пользователя.");
+    }
+
     @Test
     public void searchTest() {
         List<Item> testList = this.itemRepository.search("deSCrIpTioN",
-                PageRequest.of(0, 20)).toList();
+                PageRequest.of(0, 20));
+        assertEquals(item, testList.get(0), "Вещь отличается");
+    }
+
+    @Test
+    public void searchExcludesUnavailableTest() {
+        Item unavailableItem = Item.builder()
+                .name("unavailable")
+                .description("description")
+                .available(false)
+                .owner(user2)
+                .build();
+        entityManager.persist(unavailableItem);
+        List<Item> testList = this.itemRepository.search("description",
+                PageRequest.of(0, 20));
+        assertEquals(1, testList.size(), "В выдачу попала недоступная вещь");
         assertEquals(item, testList.get(0), "Вещь отличается");
     }
 
+    @Test
+    public void searchRanksNameMatchesFirstTest() {
+        Item nameMatchItem = Item.builder()
+                .name("description in name")
+                .description("other")
+                .available(true)
+                .owner(user2)
+                .build();
+        entityManager.persist(nameMatchItem);
+        List<Item> testList = this.itemRepository.search("description",
+                PageRequest.of(0, 20));
+        assertEquals(2, testList.size(), "Количество вещей отличается");
+        assertEquals(nameMatchItem, testList.get(0), "Совпадение по названию не выдано первым");
+        assertEquals(item, testList.get(1), "Вещь отличается");
+    }
+
     @Test
     public void findByRequestIdTest() {
         List<Item> testList = this.itemRepository.findByRequestId(itemRequest.getId());
         assertEquals(item, testList.get(0), "Вещь отличается");
     }
 
+    @Test
+    public void findByRequestIdInTest() {
+        List<Item> testList = this.itemRepository.findByRequestIdIn(List.of(itemRequest.getId(), 999));
+        assertEquals(1, testList.size(), "Количество вещей отличается");
+        assertEquals(item, testList.get(0), "Вещь отличается");
+    }
+
+    @Test
+    public void findIndexedItemsTest() {
+        List<IndexedItem> testList = this.itemRepository.findIndexedItems();
+        assertEquals(1, testList.size(), "Количество вещей отличается");
+        assertEquals(item.getId(), testList.get(0).getId(), "Id отличается");
+        assertEquals(item.getName(), testList.get(0).getName(), "Название отличается");
+        assertEquals(item.getDescription(), testList.get(0).getDescription(), "Описание отличается");
+        assertEquals(user2.getId(), testList.get(0).getOwnerId(), "Владелец отличается");
+    }
+
     @AfterEach
     public void cleaner() {
         entityManager.clear();
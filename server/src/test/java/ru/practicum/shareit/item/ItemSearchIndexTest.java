@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class ItemSearchIndexTest {
+    private final ItemRepository itemRepository = Mockito.mock(ItemRepository.class);
+    private final User owner = User.builder().id(1).name("owner").email("owner@yandex.ru").build();
+    private final User otherOwner = User.builder().id(2).name("other").email("other@yandex.ru").build();
+    private ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    public void start() {
+        when(itemRepository.findIndexedItems()).thenReturn(List.of());
+        itemSearchIndex = new ItemSearchIndex(itemRepository, ItemSearchIndex.MEMORY_ENGINE);
+        itemSearchIndex.build();
+        itemSearchIndex.index(item(1, "Дрель", "Мощная дрель", true, owner));
+        itemSearchIndex.index(item(2, "Отвертка", "Аккумуляторная ДРЕЛЬ-шуруповерт", true, owner));
+        itemSearchIndex.index(item(3, "Дрель ударная", "Для бетона", false, owner));
+        itemSearchIndex.index(item(4, "Перфоратор", "Бьет бетон", true, otherOwner));
+    }
+
+    @Test
+    public void disabledTest() {
+        ItemSearchIndex disabledIndex = new ItemSearchIndex(itemRepository, "sql");
+        disabledIndex.build();
+        assertFalse(disabledIndex.isReady(), "Отключенный индекс готов к поиску.");
+    }
+
+    @Test
+    public void searchTest() {
+        assertTrue(itemSearchIndex.isReady(), "Индекс не построен.");
+        assertEquals(List.of(1, 2), itemSearchIndex.search("дРеЛь", 0, 20),
+                "Результат поиска отличается.");
+        assertEquals(List.of(4), itemSearchIndex.search("бетон", 0, 20),
+                "В выдачу попала недоступная вещь.");
+        assertTrue(itemSearchIndex.search("пила", 0, 20).isEmpty(), "Найдена несуществующая вещь.");
+    }
+
+    @Test
+    public void searchRanksNameMatchesFirstTest() {
+        itemSearchIndex.index(item(5, "Шуруповерт", "Компактный", true, owner));
+        assertEquals(List.of(5, 2), itemSearchIndex.search("шуруп", 0, 20),
+                "Совпадение по названию не выдано первым.");
+    }
+
+    @Test
+    public void searchShortQueryTest() {
+        assertEquals(List.of(1, 2), itemSearchIndex.search("ДР", 0, 20),
+                "Результат поиска по короткому запросу отличается.");
+    }
+
+    @Test
+    public void searchPageTest() {
+        assertEquals(List.of(2), itemSearchIndex.search("дрель", 1, 1), "Страница отличается.");
+        assertTrue(itemSearchIndex.search("дрель", 2, 1).isEmpty(), "Страница не пуста.");
+    }
+
+    @Test
+    public void updateTest() {
+        itemSearchIndex.index(item(1, "Пила", "Ножовка", true, owner));
+        assertEquals(List.of(2), itemSearchIndex.search("дрель", 0, 20), "Старые данные остались в индексе.");
+        assertEquals(List.of(1), itemSearchIndex.search("пила", 0, 20), "Новые данные не попали в индекс.");
+        itemSearchIndex.index(item(1, "Пила", "Ножовка", false, owner));
+        assertTrue(itemSearchIndex.search("пила", 0, 20).isEmpty(), "Недоступная вещь осталась в индексе.");
+    }
+
+    @Test
+    public void removeByOwnerTest() {
+        itemSearchIndex.removeByOwner(owner.getId());
+        assertTrue(itemSearchIndex.search("дрель", 0, 20).isEmpty(), "Вещи владельца остались в индексе.");
+        assertEquals(List.of(4), itemSearchIndex.search("бетон", 0, 20), "Удалены чужие вещи.");
+    }
+
+    private Item item(int id, String name, String description, boolean available, User owner) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+}
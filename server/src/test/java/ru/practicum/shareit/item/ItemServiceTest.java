@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.comment.dto.CommentDto;
@@ -18,6 +19,8 @@ import ru.practicum.shareit.item.dto.ItemDtoIncreasedConfidential;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.support.QueryBudget;
+import ru.practicum.shareit.support.StatementCountingConfig;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -32,6 +35,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @AutoConfigureTestDatabase
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 @Transactional
+@Import(StatementCountingConfig.class)
 public class ItemServiceTest {
     private final UserRepository userRepository;
     private final ItemService itemService;
@@ -41,6 +45,7 @@ public class ItemServiceTest {
     private ItemDto itemDto = ItemDto.builder().name("name").description("description").available(true).build();
     private ItemRequestDto itemRequestDto = ItemRequestDto.builder().description("description").build();
     private final BookingService bookingService;
+    private final QueryBudget queryBudget;
 
     @BeforeEach
     public void start() {
@@ -82,6 +87,25 @@ public class ItemServiceTest {
         assertEquals(itemRequestDto.getId(), testItem2.getRequestId(), "Id запроса отличается.");
     }
 
+    @Test
+    public void addAllTest() {
+        ItemDto requestedItemDto = itemDto.toBuilder().requestId(itemRequestDto.getId()).build();
+        List<ItemDtoIncreasedConfidential> testItems = itemService.addAll(List.of(itemDto, requestedItemDto),
+                user.getId());
+        assertEquals(2, testItems.size(), "Количество вещей отличается.");
+        assertTrue(testItems.get(0).getId() > 0, "Вещь не была зарегистрирована.");
+        assertNotEquals(testItems.get(0).getId(), testItems.get(1).getId(), "Идентификаторы совпадают.");
+        assertEquals(user, testItems.get(1).getOwner(), "Владельцы отличаются.");
+        assertEquals(itemRequestDto.getId(), testItems.get(1).getRequestId(), "Id запроса отличается.");
+        try {
+            itemService.addAll(List.of(itemDto.toBuilder().requestId(999).build()), user.getId());
+        } catch (Exception e) {
+            assertEquals(NotFoundException.class, e.getClass(), "Тип ошибки отличается.");
+            assertEquals("Запрос с id: 999 не обнаружен.", e.getMessage(),
+                    "Описание ошибки отличается");
+        }
+    }
+
     @Test
     public void updateValidationTest() {
         ItemDtoIncreasedConfidential testItem = itemService.add(itemDto, user.getId());
@@ -172,7 +196,8 @@ public class ItemServiceTest {
         CommentDto registrationComment = CommentDto.builder().text("text").build();
         CommentDtoIncreasedConfidential testComment = itemService.addComment(registrationItem.getId(), user2.getId(),
                 registrationComment);
-        ItemDtoIncreasedConfidential testItem1 = itemService.getById(registrationItem.getId(), user.getId());
+        ItemDtoIncreasedConfidential testItem1 = queryBudget.assertAtMost(3,
+                () -> itemService.getById(registrationItem.getId(), user.getId()));
         assertEquals(registrationItem.getId(), testItem1.getId(),
                 "Id отличается.");
         assertEquals(registrationItem.getName(), testItem1.getName(),
@@ -189,7 +214,8 @@ public class ItemServiceTest {
                 "Последнее бронирование отличается.");
         assertEquals(testNextBooking.getId(), testItem1.getNextBooking().getId(),
                 "Следующее бронирование отличается.");
-        ItemDtoIncreasedConfidential testItem2 = itemService.getById(registrationItem.getId(), user2.getId());
+        ItemDtoIncreasedConfidential testItem2 = queryBudget.assertAtMost(2,
+                () -> itemService.getById(registrationItem.getId(), user2.getId()));
         assertNull(testItem2.getLastBooking(),
                 "Постороннему пользователю доступен просмотр последнего бронирования.");
         assertNull(testItem2.getNextBooking(),
@@ -245,7 +271,8 @@ public class ItemServiceTest {
         itemService.add(itemDto, user2.getId());
         itemService.add(itemDto, user2.getId());
         itemService.add(itemDto, user2.getId());
-        List<ItemDtoIncreasedConfidential> testList = itemService.getAll(user.getId(), 0, 20);
+        List<ItemDtoIncreasedConfidential> testList = queryBudget.assertAtMost(3,
+                () -> itemService.getAll(user.getId(), 0, 20));
         assertEquals(1, testList.size(),
                 "В список попали чужие вещи.");
         assertEquals(registrationItem.getId(), testList.get(0).getId(),
@@ -266,6 +293,26 @@ public class ItemServiceTest {
                 "Следующее бронирование отличается.");
     }
 
+    @Test
+    public void getAllQueryBudgetTest() {
+        for (int i = 0; i < 3; i++) {
+            ItemDtoIncreasedConfidential registrationItem = itemService.add(itemDto, user.getId());
+            BookingDto testLastBooking = bookingService.add(BookingDto.builder().itemId(registrationItem.getId())
+                    .start(LocalDateTime.now().minusDays(1)).end(LocalDateTime.now().minusHours(23)).build(),
+                    user2.getId());
+            bookingService.statusAppropriator(testLastBooking.getId(), true, user.getId());
+            itemService.addComment(registrationItem.getId(), user2.getId(),
+                    CommentDto.builder().text("text" + i).build());
+        }
+        List<ItemDtoIncreasedConfidential> testList = queryBudget.assertAtMost(3,
+                () -> itemService.getAll(user.getId(), 0, 20));
+        assertEquals(3, testList.size(), "Количество вещей отличается.");
+        testList.forEach(item -> {
+            assertNotNull(item.getLastBooking(), "Последнее бронирование не было присвоено.");
+            assertEquals(1, item.getComments().size(), "Комментарии не были присвоены.");
+        });
+    }
+
     @Test
     public void itemCheckerTest() {
         ItemDtoIncreasedConfidential registrationItem = itemService.add(itemDto, user.getId());
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class InfoSamplingFilterTest {
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final InfoSamplingFilter filter = new InfoSamplingFilter();
+
+    @BeforeEach
+    public void start() {
+        filter.setLoggers("ru.practicum.shareit.booking.service, ru.practicum.shareit.item.service");
+        filter.setRate(3);
+        filter.start();
+    }
+
+    @Test
+    public void samplingTest() {
+        String logger = "ru.practicum.shareit.booking.service.BookingServiceImpl";
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(logger, Level.INFO, "Бронирование подтверждено.")),
+                "Первое событие было отброшено.");
+        assertEquals(FilterReply.DENY, filter.decide(event(logger, Level.INFO, "Бронирование подтверждено.")),
+                "Второе событие не было отброшено.");
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(logger, Level.INFO, "В бронировании отказано.")),
+                "Первое событие другого вида было отброшено.");
+        assertEquals(FilterReply.DENY, filter.decide(event(logger, Level.INFO, "Бронирование подтверждено.")),
+                "Третье событие не было отброшено.");
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(logger, Level.INFO, "Бронирование подтверждено.")),
+                "Четвертое событие было отброшено.");
+    }
+
+    @Test
+    public void notSampledTest() {
+        String logger = "ru.practicum.shareit.booking.service.BookingServiceImpl";
+        for (int i = 0; i < 3; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(event(logger, Level.WARN, "Предупреждение.")),
+                    "Событие уровня WARN было отброшено.");
+            assertEquals(FilterReply.NEUTRAL, filter.decide(event("ru.practicum.shareit.user.service.UserServiceImpl",
+                    Level.INFO, "Пользователь добавлен.")), "Событие другого логгера было отброшено.");
+        }
+    }
+
+    private LoggingEvent event(String loggerName, Level level, String message) {
+        Logger logger = loggerContext.getLogger(loggerName);
+        return new LoggingEvent(Logger.class.getName(), logger, level, message, null, null);
+    }
+}
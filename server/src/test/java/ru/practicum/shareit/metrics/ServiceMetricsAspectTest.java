@@ -0,0 +1,62 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.transaction.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Transactional
+public class ServiceMetricsAspectTest {
+    private final MeterRegistry meterRegistry;
+    private final UserService userService;
+    private final BookingService bookingService;
+
+    @Test
+    public void successTest() {
+        long count = count("UserServiceImpl", "add", "none", "success");
+        userService.add(UserDto.builder().name("metrics").email("metrics@yandex.ru").build());
+        assertEquals(count + 1, count("UserServiceImpl", "add", "none", "success"),
+                "Количество успешных вызовов отличается.");
+    }
+
+    @Test
+    public void notFoundTest() {
+        long count = count("UserServiceImpl", "get", "none", "not_found");
+        assertThrows(NotFoundException.class, () -> userService.get(-1));
+        assertEquals(count + 1, count("UserServiceImpl", "get", "none", "not_found"),
+                "Количество вызовов с ошибкой поиска отличается.");
+    }
+
+    @Test
+    public void stateTest() {
+        long count = count("BookingServiceImpl", "getAll", "CURRENT", "not_found");
+        assertThrows(NotFoundException.class, () -> bookingService.getAll("CURRENT", -1, 0, 20));
+        assertEquals(count + 1, count("BookingServiceImpl", "getAll", "CURRENT", "not_found"),
+                "Количество вызовов по статусу отличается.");
+    }
+
+    private long count(String service, String method, String state, String outcome) {
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tag("service", service)
+                .tag("method", method)
+                .tag("state", state)
+                .tag("outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -53,7 +53,7 @@ public class ItemRequestRepositoryTest {
         this.entityManager.persist(otherItemRequest);
         List<ItemRequest> testList = itemRequestRepository
                 .findAllByRequestorIdNot(user.getId(), PageRequest.of(0, 20,
-                        Sort.by(Sort.Direction.DESC, "created"))).toList();
+                        Sort.by(Sort.Direction.DESC, "created")));
         assertEquals(otherItemRequest, testList.get(0), "Запрос отличается");
     }
 }
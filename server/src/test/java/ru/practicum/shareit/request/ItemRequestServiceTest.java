@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
@@ -13,6 +14,8 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.support.QueryBudget;
+import ru.practicum.shareit.support.StatementCountingConfig;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -27,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @AutoConfigureTestDatabase
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 @Transactional
+@Import(StatementCountingConfig.class)
 public class ItemRequestServiceTest {
     private User user = User.builder().name("user").email("email@yandex.ru").build();
     private Item item = Item.builder().name("item").description("itemDescription").available(true).build();
@@ -35,6 +39,7 @@ public class ItemRequestServiceTest {
     private final ItemRepository itemRepository;
     private final ItemRequestService itemRequestService;
     private final ItemService itemService;
+    private final QueryBudget queryBudget;
 
     @BeforeEach
     public void start() {
@@ -104,6 +109,23 @@ public class ItemRequestServiceTest {
         assertFalse(itemRequestDtoTestList.get(0).getItems().isEmpty(), "Список ответов пуст.");
     }
 
+    @Test
+    public void getQueryBudgetTest() {
+        User otherUser = userRepository.save(User.builder().name("otherUser").email("otheruser@yandex.ru").build());
+        for (int i = 0; i < 3; i++) {
+            ItemRequestDto itemRequestDtoTest = itemRequestService.add(itemRequestDto, user.getId());
+            itemService.add(ItemDto.builder().name("item" + i).description("itemDescription")
+                    .available(true).requestId(itemRequestDtoTest.getId()).build(), otherUser.getId());
+        }
+        List<ItemRequestDto> ownRequests = queryBudget.assertAtMost(2, () -> itemRequestService.get(user.getId()));
+        assertEquals(3, ownRequests.size(), "Количество запросов отличается.");
+        ownRequests.forEach(request -> assertEquals(1, request.getItems().size(), "Ответы не были присвоены."));
+        List<ItemRequestDto> otherRequests = queryBudget.assertAtMost(2,
+                () -> itemRequestService.getAll(0, 20, otherUser.getId()));
+        assertEquals(3, otherRequests.size(), "Количество запросов других пользователей отличается.");
+        otherRequests.forEach(request -> assertEquals(1, request.getItems().size(), "Ответы не были присвоены."));
+    }
+
     @Test
     public void getAllValidationTest() {
         try {
@@ -187,7 +209,8 @@ public class ItemRequestServiceTest {
         ItemRequestDto otherItemRequestDtoTest = itemRequestService.getById(itemRequestDtoTest.getId(), user.getId());
         assertTrue(otherItemRequestDtoTest.getItems().isEmpty(), "Список не пуст.");
         itemService.add(itemDto, otherUser.getId());
-        otherItemRequestDtoTest = itemRequestService.getById(itemRequestDtoTest.getId(), user.getId());
+        otherItemRequestDtoTest = queryBudget.assertAtMost(2,
+                () -> itemRequestService.getById(itemRequestDtoTest.getId(), user.getId()));
         assertFalse(otherItemRequestDtoTest.getItems().isEmpty(), "Список пуст.");
     }
 
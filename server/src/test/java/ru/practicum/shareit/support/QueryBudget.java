@@ -0,0 +1,39 @@
+package ru.practicum.shareit.support;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка количества SQL-запросов, выполняемых одним вызовом сервиса.
+ * Перед вызовом отложенные изменения тестовой транзакции сбрасываются в базу, а контекст персистентности
+ * очищается, поэтому вызов выполняет столько же запросов, сколько выполнил бы отдельный HTTP-запрос.
+ */
+public class QueryBudget {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Выполняет действие и завершает тест с ошибкой, если оно выполнило больше budget SQL-запросов.
+     * @param budget допустимое количество запросов.
+     * @param action проверяемый вызов.
+     * @return возвращает результат действия.
+     */
+    public <T> T assertAtMost(int budget, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+        StatementCounter.reset();
+        T result = action.get();
+        List<String> statements = StatementCounter.statements();
+        assertTrue(statements.size() <= budget, () -> String.format("Выполнено SQL-запросов: %d, допустимо: %d.%n%s",
+                statements.size(), budget, String.join(System.lineSeparator(), statements)));
+        return result;
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Счетчик SQL-запросов, выполненных текущим потоком через обернутый источник данных.
+ * Запросом считается каждый вызов execute*, пакет из executeBatch считается одним запросом.
+ */
+public final class StatementCounter {
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    private StatementCounter() {
+    }
+
+    /**
+     * Оборачивает источник данных так, чтобы выполняемые через него запросы учитывались счетчиком.
+     */
+    public static DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return connection(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return connection(super.getConnection(username, password));
+            }
+        };
+    }
+
+    /**
+     * Начинает подсчет запросов текущего потока заново.
+     */
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    /**
+     * @return возвращает тексты запросов, выполненных текущим потоком после последнего сброса.
+     */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, (method, args) -> {
+            Object result = invoke(target, method, args);
+            switch (method.getName()) {
+                case "createStatement":
+                    return statement(Statement.class, (Statement) result, null);
+                case "prepareStatement":
+                    return statement(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+                case "prepareCall":
+                    return statement(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+                default:
+                    return result;
+            }
+        });
+    }
+
+    /**
+     * Оборачивает запрос: текст берется из аргумента execute* или, для подготовленных запросов, из preparedSql.
+     */
+    private static <T extends Statement> T statement(Class<T> type, T target, String preparedSql) {
+        return proxy(type, (method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                STATEMENTS.get().add(args != null && args.length > 0 && args[0] instanceof String
+                        ? (String) args[0] : preparedSql);
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementCounter.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    } else if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    return handler.handle(method, args);
+                }));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+}
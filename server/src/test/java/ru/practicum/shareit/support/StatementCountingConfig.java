@@ -0,0 +1,34 @@
+package ru.practicum.shareit.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Подключает подсчет SQL-запросов к тестовому контексту: основной источник данных оборачивается
+ * {@link StatementCounter}, а бюджет запросов проверяется через {@link QueryBudget}.
+ * Оборачивается только бин {@value #DATA_SOURCE_BEAN}, через который работает JPA: при включенной реплике
+ * источники primaryDataSource и replicaDataSource остаются HikariDataSource, а запросы не считаются дважды.
+ */
+@TestConfiguration
+public class StatementCountingConfig {
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource && DATA_SOURCE_BEAN.equals(beanName)
+                        ? StatementCounter.wrap((DataSource) bean) : bean;
+            }
+        };
+    }
+
+    @Bean
+    public QueryBudget queryBudget() {
+        return new QueryBudget();
+    }
+}
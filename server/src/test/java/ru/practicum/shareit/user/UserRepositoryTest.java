@@ -1,19 +1,33 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
-@DataJpaTest
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region_prefix=${random.uuid}"
+})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class UserRepositoryTest {
     private final UserRepository userRepository;
     private final TestEntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlatformTransactionManager transactionManager;
     private final User user = User.builder().name("John").email("malkovich@yandex.ru").build();
 
     @Test
@@ -27,4 +41,30 @@ public class UserRepositoryTest {
             assertEquals("malkovich@yandex.ru", testUser.getEmail(), "Почта отличается.");
         }
     }
+
+    /**
+     * Кэш второго уровня наполняется только после фиксации транзакции, в которой сущность была создана,
+     * поэтому пользователь сохраняется в отдельной транзакции и удаляется после проверки.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findByIdSecondLevelCacheTest() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        User savedUser = transactionTemplate.execute(status -> userRepository.save(user));
+        try {
+            entityManagerFactory.getCache().evict(User.class);
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.setStatisticsEnabled(true);
+            statistics.clear();
+            assertEquals("John", userRepository.findById(savedUser.getId()).orElseThrow().getName(),
+                    "Имя отличается.");
+            assertEquals("John", userRepository.findById(savedUser.getId()).orElseThrow().getName(),
+                    "Имя отличается.");
+            assertEquals(1, statistics.getSecondLevelCacheHitCount(), "Количество попаданий в кэш отличается.");
+            assertEquals(1, statistics.getPrepareStatementCount(), "Количество SQL-запросов отличается.");
+            statistics.setStatisticsEnabled(false);
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> userRepository.deleteById(savedUser.getId()));
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Кэш второго уровня наполняется только зафиксированными данными, поэтому тест выполняется без общей транзакции
+ * и удаляет созданные данные после проверки.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.region_prefix=${random.uuid}"
+})
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class UserServiceCacheTest {
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    public void deleteEvictsOwnerItemsTest() {
+        User owner = userRepository.save(User.builder().name("owner").email("cache-owner@yandex.ru").build());
+        User otherOwner = userRepository.save(User.builder().name("other").email("cache-other@yandex.ru").build());
+        Item item = itemRepository.save(Item.builder().name("name").description("description").available(true)
+                .owner(owner).build());
+        Item otherItem = itemRepository.save(Item.builder().name("name").description("description").available(true)
+                .owner(otherOwner).build());
+        try {
+            itemRepository.findById(item.getId());
+            itemRepository.findById(otherItem.getId());
+            Cache cache = entityManagerFactory.getCache();
+            assertTrue(cache.contains(Item.class, item.getId()), "Вещь не попала в кэш.");
+            userService.delete(owner.getId());
+            assertFalse(cache.contains(Item.class, item.getId()), "Вещь удаленного пользователя осталась в кэше.");
+            assertTrue(cache.contains(Item.class, otherItem.getId()), "Из кэша удалена вещь другого пользователя.");
+        } finally {
+            userRepository.deleteById(otherOwner.getId());
+        }
+    }
+
+    @Test
+    public void cacheMetricsTest() {
+        assertFalse(meterRegistry.find("hibernate.second.level.cache.requests").functionCounters().isEmpty(),
+                "Метрики кэша второго уровня не опубликованы.");
+    }
+}